@@ -0,0 +1,71 @@
+#!/usr/bin/env bash
+#
+# Startup and first-call latency of the validation CLI.
+#
+# Compares the JVM without class data sharing, with the default CDS archive of the JDK, with an AppCDS
+# archive of the application classes, and the native executable. Every mode is started RUNS times to
+# validate a single plate, the median wall-clock time of the process and the median duration of the
+# first VehiclePlateValidator.isValid call are printed in microseconds.
+#
+# Needs bash and GNU date, process times are taken with the nanosecond date +%s%N format that POSIX sh
+# and BSD date do not support.
+#
+# Usage:
+#   mvn -Pdev package          # target/bumazhka-*.jar, AppCDS needs classes packed in a jar
+#   mvn -Pnative package       # target/bumazhka, needs a GraalVM JDK, skipped if missing
+#   benchmark/startup.sh [RUNS]
+#
+set -euo pipefail
+
+RUNS=${1:-20}
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+JAR=$(ls "$ROOT"/target/bumazhka-*.jar 2>/dev/null | head -n 1 || true)
+NATIVE=$ROOT/target/bumazhka
+MAIN=ru.tooloolooz.bumazhka.cli.ValidationCli
+PLATE=А019АА161
+WORK=$(mktemp -d)
+trap 'rm -rf "$WORK"' EXIT
+
+if [ -z "$JAR" ]; then
+    echo "target/bumazhka-*.jar not found, run mvn -Pdev package first" >&2
+    exit 1
+fi
+
+median() {
+    sort -n "$1" | awk '{ values[NR] = $1 } END { print values[int((NR + 1) / 2)] }'
+}
+
+measure() {
+    label=$1
+    shift
+    : > "$WORK/wall"
+    : > "$WORK/first"
+    run=0
+    while [ "$run" -lt "$RUNS" ]; do
+        start=$(date +%s%N)
+        "$@" --timing "$PLATE" > /dev/null 2> "$WORK/err" || true
+        end=$(date +%s%N)
+        echo $(((end - start) / 1000)) >> "$WORK/wall"
+        sed -n 's/^first-call-ns //p' "$WORK/err" | awk '{ print int($1 / 1000) }' >> "$WORK/first"
+        run=$((run + 1))
+    done
+    printf '%-12s %12s %16s\n' "$label" "$(median "$WORK/wall")" "$(median "$WORK/first")"
+}
+
+# The exit status of the CLI is the validation result, so the dump run is checked by its archive.
+java -XX:ArchiveClassesAtExit="$WORK/app.jsa" -cp "$JAR" "$MAIN" "$PLATE" > "$WORK/cds.log" 2>&1 || true
+if [ ! -s "$WORK/app.jsa" ]; then
+    echo "AppCDS archive was not created:" >&2
+    cat "$WORK/cds.log" >&2
+    exit 1
+fi
+
+printf '%-12s %12s %16s\n' "mode" "startup, us" "first call, us"
+measure jvm java -Xshare:off -cp "$JAR" "$MAIN"
+measure jvm-cds java -Xshare:auto -cp "$JAR" "$MAIN"
+measure jvm-appcds java -XX:SharedArchiveFile="$WORK/app.jsa" -cp "$JAR" "$MAIN"
+if [ -x "$NATIVE" ]; then
+    measure native "$NATIVE"
+else
+    echo "target/bumazhka not found, run mvn -Pnative package to include the native executable" >&2
+fi
@@ -1,9 +1,12 @@
 package ru.tooloolooz.bumazhka;
 
+import ru.tooloolooz.bumazhka.jfr.PlateRejections;
 import ru.tooloolooz.bumazhka.plate.PlateValidator;
 import ru.tooloolooz.bumazhka.plate.Type1PlateValidator;
 import ru.tooloolooz.bumazhka.plate.TypeAnyPlateValidator;
 
+import java.util.Objects;
+
 /**
  * Utility class for validating Russian Federation vehicle registration plates (license plates).
  * <p>
@@ -88,7 +91,7 @@ public final class VehiclePlateValidator {
     public static boolean isValid(final String plate) {
         Assert.notNull(plate, "Plate must be not null");
 
-        return getValidator(PlateType.ANY).isValid(plate);
+        return test(plate, PlateType.ANY);
     }
 
     /**
@@ -108,7 +111,65 @@ public final class VehiclePlateValidator {
         Assert.notNull(plate, "Plate must be not null");
         Assert.notNull(type, "Type must be not null");
 
-        return getValidator(type).isValid(plate);
+        return test(plate, type);
+    }
+
+    /**
+     * Validates any vehicle registration plate stored in a character array.
+     * <p>
+     * This is the array variant of {@link #isValid(String)} for callers decoding plates into reusable buffers,
+     * it does not allocate.
+     *
+     * @param chars  the array containing the plate.
+     * @param offset the index of the first plate character.
+     * @param length the number of plate characters.
+     * @return {@code true} if the plate is valid, {@code false} otherwise.
+     * @throws IllegalArgumentException  if {@code chars} is {@code null}.
+     * @throws IndexOutOfBoundsException if the range is out of the array bounds.
+     */
+    public static boolean isValid(final char[] chars, final int offset, final int length) {
+        return isValid(chars, offset, length, PlateType.ANY);
+    }
+
+    /**
+     * Validates a vehicle registration plate stored in a character array against a specific type.
+     * <p>
+     * This is the array variant of {@link #isValid(String, PlateType)}, it does not allocate.
+     *
+     * @param chars  the array containing the plate.
+     * @param offset the index of the first plate character.
+     * @param length the number of plate characters.
+     * @param type   vehicle state registration plate {@link PlateType type}.
+     * @return {@code true} if the plate is valid, {@code false} otherwise.
+     * @throws IllegalArgumentException  if {@code chars} or {@code type} is {@code null}.
+     * @throws IndexOutOfBoundsException if the range is out of the array bounds.
+     */
+    public static boolean isValid(final char[] chars, final int offset, final int length, final PlateType type) {
+        Assert.notNull(chars, "Plate must be not null");
+        Assert.notNull(type, "Type must be not null");
+        Objects.checkFromIndexSize(offset, length, chars.length);
+
+        final boolean valid = getValidator(type).isValid(chars, offset, length);
+        if (!valid) {
+            PlateRejections.rejected(chars, offset, length, type);
+        }
+        return valid;
+    }
+
+    /**
+     * Validates a plate against a type and reports a rejection to Flight Recorder.
+     *
+     * @param plate the registration plate string to validate.
+     * @param type  vehicle state registration plate {@link PlateType type}.
+     * @return {@code true} if {@code plate} is valid, {@code false} otherwise.
+     * @see PlateRejections
+     */
+    private static boolean test(final String plate, final PlateType type) {
+        final boolean valid = getValidator(type).isValid(plate);
+        if (!valid) {
+            PlateRejections.rejected(plate, type);
+        }
+        return valid;
     }
 
     /**
@@ -1,6 +1,6 @@
 package ru.tooloolooz.bumazhka;
 
-import java.util.Set;
+import java.util.Objects;
 
 /**
  * Validator for vehicle region codes.
@@ -10,19 +10,36 @@ import java.util.Set;
  * @see <a href="http://publication.pravo.gov.ru/document/0001201801100004"/>
  */
 public final class VehicleRegionCodeValidator {
+    /**
+     * Value returned by {@link #parse(CharSequence, int, int)} for invalid region codes.
+     */
+    public static final int INVALID_CODE = -1;
+
+    /**
+     * Message of exceptions thrown for {@code null} codes.
+     */
+    private static final String CODE_NULL_MESSAGE = "Code must be not null";
+
+    /**
+     * Exclusive upper bound of numeric values of 2-digit region codes.
+     */
+    private static final int SUBJECT_CODE_BOUND = 100;
+
+    /**
+     * Bitmask of valid 2-digit region codes {@code 00..63}, bit {@code n} is set if code {@code n} is valid.
+     * <p>
+     * The codes represent subjects of the Russian Federation: every code from {@code 01} to {@code 99}
+     * except {@code 20} and {@code 91}. Both masks are compile-time constants, so the lookup costs no class
+     * initialization and is folded into the caller by the JIT and by native image builds.
+     */
+    private static final long SUBJECT_CODES_LOW = 0xFFFF_FFFF_FFEF_FFFEL;
 
     /**
-     * Valid vehicle region codes.
-     * The codes represent subjects of the Russian Federation.
+     * Bitmask of valid 2-digit region codes {@code 64..99}, bit {@code n} is set if code {@code 64 + n} is valid.
+     *
+     * @see #SUBJECT_CODES_LOW
      */
-    private static final Set<String> REGION_CODES = Set.of(
-            "01", "02", "03", "04", "05", "06", "07", "08", "09", "10", "11", "12", "13", "14", "15", "16", "17", "18",
-            "19", "95", "21", "82", "22", "59", "81", "25", "26", "27", "28", "29", "30", "31", "32", "33", "34", "35",
-            "36", "37", "38", "85", "39", "40", "42", "43", "44", "45", "46", "47", "48", "49", "50", "90", "51", "75",
-            "80", "41", "23", "93", "24", "84", "88", "57", "58", "60", "61", "62", "63", "64", "65", "66", "96", "67",
-            "68", "69", "70", "71", "72", "73", "74", "76", "52", "53", "54", "55", "56", "77", "97", "99", "78", "98",
-            "92", "79", "83", "86", "87", "89", "94"
-    );
+    private static final long SUBJECT_CODES_HIGH = 0xF_F7FF_FFFFL;
 
     /**
      * Length of 2-digit vehicle codes.
@@ -34,6 +51,11 @@ public final class VehicleRegionCodeValidator {
      */
     private static final int THREE_DIGIT_CODE_LENGTH = 3;
 
+    /**
+     * Radix of region code digits.
+     */
+    private static final int RADIX = 10;
+
     /**
      * This class is a utility class and should not be instantiated.
      *
@@ -52,7 +74,7 @@ public final class VehicleRegionCodeValidator {
      * @throws IllegalArgumentException if {@code code} is {@code null}.
      */
     public static boolean isValid(final String code) {
-        Assert.notNull(code, "Code must be not null");
+        Assert.notNull(code, CODE_NULL_MESSAGE);
 
         final int length = code.length();
         return switch (length) {
@@ -72,7 +94,7 @@ public final class VehicleRegionCodeValidator {
      * @throws IllegalArgumentException if {@code code} or {@code length} is {@code null}.
      */
     public static boolean isValid(final String code, final RegionCodeLength length) {
-        Assert.notNull(code, "Code must be not null");
+        Assert.notNull(code, CODE_NULL_MESSAGE);
         Assert.notNull(length, "Length must be not null");
 
         return switch (length) {
@@ -82,6 +104,55 @@ public final class VehicleRegionCodeValidator {
         };
     }
 
+    /**
+     * Parses a region code located in the {@code [start, end)} range of a character sequence.
+     * <p>
+     * Performs the same checks as {@link #isValid(String)} without creating a substring and returns
+     * the numeric value of the code: {@code 1..99} for 2-digit codes and {@code 101..999} for 3-digit codes.
+     * Distinct valid codes always have distinct numeric values, so the result can be used as an array index.
+     *
+     * @param seq   the sequence containing the code.
+     * @param start the index of the first code character, inclusive.
+     * @param end   the index of the last code character, exclusive.
+     * @return the numeric value of the code, or {@link #INVALID_CODE} if the code is invalid.
+     * @throws IllegalArgumentException  if {@code seq} is {@code null}.
+     * @throws IndexOutOfBoundsException if the range is out of the sequence bounds.
+     */
+    public static int parse(final CharSequence seq, final int start, final int end) {
+        Assert.notNull(seq, CODE_NULL_MESSAGE);
+        Objects.checkFromToIndex(start, end, seq.length());
+
+        return switch (end - start) {
+            case TWO_DIGIT_CODE_LENGTH -> parseSubject(seq.charAt(start), seq.charAt(start + 1));
+            case THREE_DIGIT_CODE_LENGTH -> parseThreeDigit(seq.charAt(start), seq.charAt(start + 1),
+                    seq.charAt(start + 2));
+            default -> INVALID_CODE;
+        };
+    }
+
+    /**
+     * Parses a region code located in the {@code [start, end)} range of a character array.
+     * <p>
+     * This is the array variant of {@link #parse(CharSequence, int, int)}.
+     *
+     * @param chars the array containing the code.
+     * @param start the index of the first code character, inclusive.
+     * @param end   the index of the last code character, exclusive.
+     * @return the numeric value of the code, or {@link #INVALID_CODE} if the code is invalid.
+     * @throws IllegalArgumentException  if {@code chars} is {@code null}.
+     * @throws IndexOutOfBoundsException if the range is out of the array bounds.
+     */
+    public static int parse(final char[] chars, final int start, final int end) {
+        Assert.notNull(chars, CODE_NULL_MESSAGE);
+        Objects.checkFromToIndex(start, end, chars.length);
+
+        return switch (end - start) {
+            case TWO_DIGIT_CODE_LENGTH -> parseSubject(chars[start], chars[start + 1]);
+            case THREE_DIGIT_CODE_LENGTH -> parseThreeDigit(chars[start], chars[start + 1], chars[start + 2]);
+            default -> INVALID_CODE;
+        };
+    }
+
     /**
      * Validates 2-digit vehicle region codes.
      * Checks if the provided code exists in the official list of Russian region codes.
@@ -91,7 +162,8 @@ public final class VehicleRegionCodeValidator {
      * @throws IllegalArgumentException if {@code code} is {@code null}.
      */
     private static boolean isValidTwoDigit(final String code) {
-        return code.length() == TWO_DIGIT_CODE_LENGTH && REGION_CODES.contains(code);
+        return code.length() == TWO_DIGIT_CODE_LENGTH
+               && parseSubject(code.charAt(0), code.charAt(1)) != INVALID_CODE;
     }
 
     /**
@@ -103,13 +175,51 @@ public final class VehicleRegionCodeValidator {
      * @throws IllegalArgumentException if {@code code} is {@code null}.
      */
     private static boolean isValidThreeDigit(final String code) {
-        final int length = code.length();
-        if (length != THREE_DIGIT_CODE_LENGTH) {
-            return false;
+        return code.length() == THREE_DIGIT_CODE_LENGTH
+               && parseThreeDigit(code.charAt(0), code.charAt(1), code.charAt(2)) != INVALID_CODE;
+    }
+
+    /**
+     * Parses a 2-digit code of a subject of the Russian Federation.
+     *
+     * @param tens  the first digit of the code.
+     * @param units the second digit of the code.
+     * @return the numeric value of the code, or {@link #INVALID_CODE} if the code is invalid.
+     */
+    private static int parseSubject(final char tens, final char units) {
+        if (!isDigit(tens) || !isDigit(units)) {
+            return INVALID_CODE;
         }
-        final char firstChar = code.charAt(0);
-        final String regionCode = code.substring(1, length);
-        return '1' <= firstChar && firstChar <= '9' && REGION_CODES.contains(regionCode);
+        final int value = (tens - '0') * RADIX + units - '0';
+        final long mask = value < Long.SIZE ? SUBJECT_CODES_LOW : SUBJECT_CODES_HIGH;
+        // Shift distances of long values are taken modulo 64, so value selects the bit of either mask.
+        return (mask >>> value & 1L) == 0 ? INVALID_CODE : value;
+    }
+
+    /**
+     * Parses a 3-digit vehicle region code.
+     *
+     * @param hundreds the first digit of the code, must be in range {@code 1..9}.
+     * @param tens     the second digit of the code.
+     * @param units    the third digit of the code.
+     * @return the numeric value of the code, or {@link #INVALID_CODE} if the code is invalid.
+     */
+    private static int parseThreeDigit(final char hundreds, final char tens, final char units) {
+        if (hundreds < '1' || '9' < hundreds) {
+            return INVALID_CODE;
+        }
+        final int subject = parseSubject(tens, units);
+        return subject == INVALID_CODE ? INVALID_CODE : (hundreds - '0') * SUBJECT_CODE_BOUND + subject;
+    }
+
+    /**
+     * Checks if a character is a decimal digit (0-9).
+     *
+     * @param character the character to check.
+     * @return {@code true} if the character is a basic digit (0-9), {@code false} otherwise.
+     */
+    private static boolean isDigit(final char character) {
+        return '0' <= character && character <= '9';
     }
 
     /**
@@ -0,0 +1,99 @@
+package ru.tooloolooz.bumazhka.bulk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Sequential reader of binary files of big-endian {@code int} plate keys.
+ * <p>
+ * The reader keeps the current key, so it can be used as a cursor of a merge.
+ */
+final class KeyFileReader implements Closeable {
+    /**
+     * Size of the read buffer in bytes.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Channel of the file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Off-heap read buffer, kept in read mode.
+     */
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    /**
+     * The current key.
+     */
+    private int current;
+
+    /**
+     * Opens a key file.
+     *
+     * @param file the file to read.
+     * @throws IOException if the file cannot be opened.
+     */
+    /* default */ KeyFileReader(final Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        buffer.flip();
+    }
+
+    /**
+     * Moves to the next key.
+     *
+     * @return {@code true} if the next key was read, {@code false} at the end of the file.
+     * @throws IOException if the file cannot be read or is truncated.
+     */
+    /* default */ boolean next() throws IOException {
+        if (buffer.remaining() < Integer.BYTES && !fill()) {
+            return false;
+        }
+        current = buffer.getInt();
+        return true;
+    }
+
+    /**
+     * Returns the current key.
+     *
+     * @return the key read by the last successful {@link #next()}.
+     */
+    /* default */ int key() {
+        return current;
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Reads more bytes into the buffer.
+     *
+     * @return {@code true} if at least one key is available, {@code false} at the end of the file.
+     * @throws IOException if the file cannot be read or ends with a partial key.
+     */
+    private boolean fill() throws IOException {
+        buffer.compact();
+        int read = 0;
+        while (read != -1 && buffer.hasRemaining()) {
+            read = channel.read(buffer);
+        }
+        buffer.flip();
+        final int remaining = buffer.remaining();
+        if (0 < remaining && remaining < Integer.BYTES) {
+            throw new IOException("Truncated key file, trailing bytes: " + remaining);
+        }
+        return remaining > 0;
+    }
+}
@@ -0,0 +1,77 @@
+package ru.tooloolooz.bumazhka.bulk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Sequential writer of binary files of big-endian {@code int} plate keys.
+ */
+final class KeyFileWriter implements Closeable {
+    /**
+     * Size of the write buffer in bytes.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Channel of the file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Off-heap write buffer, kept in write mode.
+     */
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    /**
+     * Creates or truncates a key file.
+     *
+     * @param file the file to write.
+     * @throws IOException if the file cannot be opened.
+     */
+    /* default */ KeyFileWriter(final Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Appends a key.
+     *
+     * @param key the key to write.
+     * @throws IOException if the file cannot be written.
+     */
+    /* default */ void write(final int key) throws IOException {
+        if (buffer.remaining() < Integer.BYTES) {
+            flush();
+        }
+        buffer.putInt(key);
+    }
+
+    /**
+     * Flushes buffered keys and closes the file.
+     *
+     * @throws IOException if the file cannot be written or closed.
+     */
+    @Override
+    public void close() throws IOException {
+        try (channel) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes buffered keys to the file.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,132 @@
+package ru.tooloolooz.bumazhka.bulk;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Memory-mapped chunk of the lines of a UTF-8 text file of plates.
+ * <p>
+ * A file is split into chunks of a fixed number of bytes, so files larger than 2 GiB are split as evenly
+ * as small ones. A chunk owns the lines starting in it: it is mapped from one byte before its start,
+ * to skip the line continued from the previous chunk, up to {@value #MAX_LINE_SIZE} bytes after its end,
+ * to complete its last line.
+ * <p>
+ * Lines are separated by {@code \n} or {@code \r\n}. Malformed UTF-8 sequences are decoded as replacement
+ * characters. Only the first {@value #MAX_LINE_SIZE} bytes of a line are decoded, they decode to more
+ * characters than any plate has, so longer lines are still rejected by length.
+ * <p>
+ * <b>Thread Safety:</b>
+ * Chunks of a file can be read concurrently, every {@link #forEachLine(Consumer)} call has its own buffers.
+ *
+ * @see RegionHistogram#of(Path)
+ * @see PlateKeySorter#sort(Path, Path)
+ */
+/* default */ final class MappedLines {
+    /**
+     * Maximum number of decoded bytes of a line.
+     */
+    private static final int MAX_LINE_SIZE = 64;
+
+    /**
+     * Mapped bytes of the chunk.
+     */
+    private final ByteBuffer bytes;
+
+    /**
+     * Whether the first mapped byte belongs to the previous chunk.
+     */
+    private final boolean continued;
+
+    /**
+     * Exclusive end index of the chunk in {@link #bytes}, lines starting before it are owned by the chunk.
+     */
+    private final int end;
+
+    /**
+     * Creates a chunk.
+     *
+     * @param mapped    the mapped bytes.
+     * @param continues whether the first mapped byte belongs to the previous chunk.
+     * @param endIndex  the end index of the chunk in the mapped bytes.
+     */
+    private MappedLines(final ByteBuffer mapped, final boolean continues, final int endIndex) {
+        this.bytes = mapped;
+        this.continued = continues;
+        this.end = endIndex;
+    }
+
+    /**
+     * Maps a file in chunks.
+     *
+     * @param file      the file to map.
+     * @param chunkSize the number of bytes of a chunk.
+     * @return the chunks of the file in order, empty for an empty file.
+     * @throws IOException if the file cannot be read.
+     */
+    /* default */ static List<MappedLines> split(final Path file, final int chunkSize) throws IOException {
+        final List<MappedLines> chunks = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            for (long start = 0; start < size; start += chunkSize) {
+                final long mapStart = Math.max(start - 1, 0);
+                final long mapEnd = Math.min(start + chunkSize + MAX_LINE_SIZE, size);
+                final ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, mapStart, mapEnd - mapStart);
+                final int endIndex = (int) (Math.min(start + chunkSize, size) - mapStart);
+                chunks.add(new MappedLines(mapped, start > 0, endIndex));
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Decodes the lines owned by the chunk.
+     * <p>
+     * The same buffer is passed for every line, it is valid only until the action returns.
+     *
+     * @param action the action consuming a decoded line.
+     */
+    /* default */ void forEachLine(final Consumer<? super CharSequence> action) {
+        final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        final CharBuffer chars = CharBuffer.allocate(MAX_LINE_SIZE);
+        int start = continued ? lineEnd(0) + 1 : 0;
+        while (start < end) {
+            final int lineEnd = lineEnd(start);
+            int size = lineEnd - start;
+            if (size > 0 && bytes.get(lineEnd - 1) == '\r') {
+                size--;
+            }
+            decoder.reset();
+            decoder.decode(bytes.slice(start, Math.min(size, MAX_LINE_SIZE)), chars.clear(), true);
+            decoder.flush(chars);
+            action.accept(chars.flip());
+            start = lineEnd + 1;
+        }
+    }
+
+    /**
+     * Returns the index of the next {@code \n} byte.
+     *
+     * @param from the index to start the search from.
+     * @return the index of the {@code \n} byte, or the limit of {@link #bytes} if there is none.
+     */
+    private int lineEnd(final int from) {
+        final int limit = bytes.limit();
+        int index = from;
+        while (index < limit && bytes.get(index) != '\n') {
+            index++;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,514 @@
+package ru.tooloolooz.bumazhka.bulk;
+
+import ru.tooloolooz.bumazhka.Assert;
+import ru.tooloolooz.bumazhka.plate.PlateCharacters;
+import ru.tooloolooz.bumazhka.plate.PlateKey;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+/**
+ * Immutable sorted index of {@link ru.tooloolooz.bumazhka.VehiclePlateValidator.PlateType#TYPE_1} plates.
+ * <p>
+ * Plates are stored as ascending {@link PlateKey}s, either in a heap array built by {@link #of(Stream)} or in a
+ * key file written by {@link PlateKeySorter} and memory-mapped by {@link #map(Path)}. Since keys preserve the
+ * order of plates, the index answers queries without decoding stored plates:
+ * <ul>
+ *   <li>{@link #prefix(CharSequence)} - plates starting with a prefix, for example {@code А019}</li>
+ *   <li>{@link #match(CharSequence)} - plates matching a pattern of the series and the number with {@code ?}
+ *       wildcards, for example {@code А???АА} or {@code ?019??}</li>
+ *   <li>{@link #match(CharSequence, int, int)} - the same restricted to a range of region codes</li>
+ * </ul>
+ * A query is a set of allowed values of every key component. The cursor checks the components of the current
+ * key, and on a mismatch computes the next key that can match and jumps to it by a binary search, so sparse
+ * queries skip whole ranges of the index instead of scanning them.
+ * <p>
+ * Query results are lazy iterators of distinct plates in ascending order.
+ * <p>
+ * <b>Thread Safety:</b>
+ * The index is immutable and thread-safe, the returned iterators are not.
+ *
+ * @see PlateKey
+ * @see PlateKeySorter
+ */
+public final class PlateIndex {
+    /**
+     * Pattern character matching any allowed character of its position.
+     */
+    public static final char WILDCARD = '?';
+
+    /**
+     * Number of plate characters preceding the region code, also the number of head key components.
+     */
+    private static final int HEAD_LENGTH = 6;
+
+    /**
+     * Index of the region slot key component.
+     */
+    private static final int REGION_COMPONENT = HEAD_LENGTH;
+
+    /**
+     * Radix of decimal digit components.
+     */
+    private static final int DIGIT_RADIX = 10;
+
+    /**
+     * Radixes of key components, from the most significant one.
+     */
+    private static final int[] RADIXES = {
+        PlateKey.LETTER_RADIX, DIGIT_RADIX, DIGIT_RADIX, DIGIT_RADIX,
+        PlateKey.LETTER_RADIX, PlateKey.LETTER_RADIX, PlateKey.REGION_RADIX,
+    };
+
+    /**
+     * The largest numeric region code.
+     */
+    private static final int MAX_REGION_CODE = 999;
+
+    /**
+     * Sorted keys.
+     */
+    private final IntBuffer keys;
+
+    /**
+     * Number of keys.
+     */
+    private final int keyCount;
+
+    /**
+     * Creates an index.
+     *
+     * @param sortedKeys the keys in ascending order.
+     */
+    private PlateIndex(final IntBuffer sortedKeys) {
+        this.keys = sortedKeys;
+        this.keyCount = sortedKeys.limit();
+    }
+
+    /**
+     * Builds an index of the given plates, invalid plates and duplicates are skipped.
+     *
+     * @param plates the plates to index.
+     * @return the index.
+     * @throws IllegalArgumentException if {@code plates} or any plate is {@code null}.
+     */
+    @SuppressWarnings("PMD.ShortMethodName")
+    public static PlateIndex of(final CharSequence... plates) {
+        Assert.notNull(plates, "Plates must be not null");
+
+        return of(Arrays.stream(plates));
+    }
+
+    /**
+     * Builds an index of the plates of a stream, invalid plates and duplicates are skipped.
+     *
+     * @param plates the plates to index.
+     * @return the index.
+     * @throws IllegalArgumentException if {@code plates} or any plate is {@code null}.
+     */
+    @SuppressWarnings("PMD.ShortMethodName")
+    public static PlateIndex of(final Stream<? extends CharSequence> plates) {
+        Assert.notNull(plates, "Plates must be not null");
+
+        final int[] keys = plates.mapToInt(PlateKey::encode)
+                .filter(key -> key != PlateKey.INVALID)
+                .sorted()
+                .distinct()
+                .toArray();
+        return new PlateIndex(IntBuffer.wrap(keys));
+    }
+
+    /**
+     * Maps a key file written by {@link PlateKeySorter}.
+     * <p>
+     * The file is checked once and then read through a read-only mapping, it must not be modified while the
+     * index is in use. Duplicate keys of the file are allowed, queries still report every plate once.
+     *
+     * @param file the sorted key file.
+     * @return the index.
+     * @throws IllegalArgumentException if {@code file} is {@code null}.
+     * @throws IOException              if the file cannot be read or is not a sorted key file.
+     */
+    public static PlateIndex map(final Path file) throws IOException {
+        Assert.notNull(file, "File must be not null");
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long fileSize = channel.size();
+            if (fileSize % Integer.BYTES != 0) {
+                throw new IOException("Truncated key file, size " + fileSize + ": " + file);
+            }
+            if (Integer.MAX_VALUE < fileSize) {
+                throw new IOException("Key file is too large: " + file);
+            }
+            final IntBuffer keys = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize).asIntBuffer();
+            int previous = 0;
+            for (int i = 0; i < keys.limit(); i++) {
+                final int key = keys.get(i);
+                if (key < previous || PlateKey.BOUND <= key) {
+                    throw new IOException("Not a sorted key file: " + file);
+                }
+                previous = key;
+            }
+            return new PlateIndex(keys);
+        }
+    }
+
+    /**
+     * Returns the number of stored keys, including duplicates of a mapped key file.
+     *
+     * @return the number of keys.
+     */
+    public int size() {
+        return keyCount;
+    }
+
+    /**
+     * Checks whether a plate is indexed.
+     *
+     * @param plate the plate to look up.
+     * @return {@code true} if the plate is valid and indexed.
+     * @throws IllegalArgumentException if {@code plate} is {@code null}.
+     */
+    public boolean contains(final CharSequence plate) {
+        final int key = PlateKey.encode(plate);
+        if (key == PlateKey.INVALID) {
+            return false;
+        }
+        final int index = lowerBound(0, key);
+        return index < keyCount && keys.get(index) == key;
+    }
+
+    /**
+     * Finds the plates starting with a prefix.
+     * <p>
+     * The prefix has no wildcards, a prefix that no valid plate starts with yields no plates.
+     *
+     * @param prefix the plate prefix, the empty prefix matches all plates.
+     * @return the lazy iterator of matching plates in ascending order.
+     * @throws IllegalArgumentException if {@code prefix} is {@code null}.
+     */
+    public Iterator<String> prefix(final CharSequence prefix) {
+        Assert.notNull(prefix, "Prefix must be not null");
+
+        final int length = prefix.length();
+        if (PlateKey.MAX_LENGTH < length) {
+            return Collections.emptyIterator();
+        }
+        final int[] head = new int[HEAD_LENGTH];
+        for (int i = 0; i < HEAD_LENGTH; i++) {
+            head[i] = i < length ? Filter.componentValue(i, prefix.charAt(i)) : Filter.ANY;
+            if (head[i] == PlateKey.INVALID) {
+                return Collections.emptyIterator();
+            }
+        }
+        final boolean[] slots = new boolean[PlateKey.REGION_RADIX];
+        final char[] plate = new char[PlateKey.MAX_LENGTH];
+        for (int slot = 0; slot < PlateKey.REGION_RADIX; slot++) {
+            final int plateLength = PlateKey.decode(slot, plate, 0);
+            boolean matches = plateLength >= length;
+            for (int i = HEAD_LENGTH; matches && i < length; i++) {
+                matches = plate[i] == prefix.charAt(i);
+            }
+            slots[slot] = matches;
+        }
+        return new Cursor(new Filter(head, slots));
+    }
+
+    /**
+     * Finds the plates of any region matching a pattern.
+     *
+     * @param pattern the pattern of the series and the number, six characters each of which is either
+     *                {@link #WILDCARD} or a character allowed at its position.
+     * @return the lazy iterator of matching plates in ascending order.
+     * @throws IllegalArgumentException if {@code pattern} is {@code null} or invalid.
+     */
+    public Iterator<String> match(final CharSequence pattern) {
+        return match(pattern, 1, MAX_REGION_CODE);
+    }
+
+    /**
+     * Finds the plates matching a pattern with a numeric region code in a range.
+     * <p>
+     * Region codes are compared as numbers returned by
+     * {@link ru.tooloolooz.bumazhka.VehicleRegionCodeValidator#parse(CharSequence, int, int)}, so the range
+     * {@code 61..161} includes both two-digit and three-digit codes.
+     *
+     * @param pattern    the pattern of the series and the number, six characters each of which is either
+     *                   {@link #WILDCARD} or a character allowed at its position.
+     * @param fromRegion the smallest region code, inclusive.
+     * @param toRegion   the largest region code, inclusive.
+     * @return the lazy iterator of matching plates in ascending order.
+     * @throws IllegalArgumentException if {@code pattern} is {@code null} or invalid, or the region range is not
+     *                                  within {@code 1..999}.
+     */
+    public Iterator<String> match(final CharSequence pattern, final int fromRegion, final int toRegion) {
+        Assert.notNull(pattern, "Pattern must be not null");
+        if (fromRegion < 1 || toRegion < fromRegion || MAX_REGION_CODE < toRegion) {
+            throw new IllegalArgumentException("Invalid region range: " + fromRegion + ".." + toRegion);
+        }
+
+        final int[] head = parsePattern(pattern);
+        final boolean[] slots = new boolean[PlateKey.REGION_RADIX];
+        for (int slot = 0; slot < PlateKey.REGION_RADIX; slot++) {
+            final int regionCode = PlateKey.regionCode(slot);
+            slots[slot] = fromRegion <= regionCode && regionCode <= toRegion;
+        }
+        return new Cursor(new Filter(head, slots));
+    }
+
+    /**
+     * Parses a pattern of the series and the number into the values of the head key components.
+     *
+     * @param pattern the pattern, six characters each of which is either {@link #WILDCARD} or a character
+     *                allowed at its position.
+     * @return the value of every head component, or {@link Filter#ANY}.
+     * @throws IllegalArgumentException if {@code pattern} is invalid.
+     */
+    private static int[] parsePattern(final CharSequence pattern) {
+        if (pattern.length() != HEAD_LENGTH) {
+            throw new IllegalArgumentException("Invalid plate pattern: " + pattern);
+        }
+        final int[] head = new int[HEAD_LENGTH];
+        for (int i = 0; i < HEAD_LENGTH; i++) {
+            final char character = pattern.charAt(i);
+            head[i] = character == WILDCARD ? Filter.ANY : Filter.componentValue(i, character);
+            if (head[i] == PlateKey.INVALID) {
+                throw new IllegalArgumentException("Invalid plate pattern: " + pattern);
+            }
+        }
+        return head;
+    }
+
+    /**
+     * Finds the first key not less than a target, galloping from a start index.
+     *
+     * @param from   the index to start from.
+     * @param target the target key.
+     * @return the index of the first key not less than {@code target} at or after {@code from},
+     *         or {@link #keyCount} if there is none.
+     */
+    private int lowerBound(final int from, final int target) {
+        int low = from;
+        int high = from;
+        int step = 1;
+        while (high < keyCount && keys.get(high) < target) {
+            low = high + 1;
+            high = keyCount - high <= step ? keyCount : high + step;
+            step <<= 1;
+        }
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (keys.get(middle) < target) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Set of allowed values of every key component.
+     * <p>
+     * A filter is used by a single cursor, it keeps a scratch array for the components of checked keys.
+     */
+    private static final class Filter {
+        /**
+         * Head component value allowing any value.
+         */
+        /* default */ static final int ANY = -2;
+
+        /**
+         * The smallest allowed value not less than each value of each component, {@link PlateKey#INVALID} if
+         * there is none. Every table has an extra trailing entry, so the value following the largest one can be
+         * looked up.
+         */
+        private final int[][] ceilings = new int[RADIXES.length][];
+
+        /**
+         * The smallest allowed value of each component, {@link PlateKey#INVALID} if there is none.
+         */
+        private final int[] minimums = new int[RADIXES.length];
+
+        /**
+         * Scratch array of key components.
+         */
+        private final int[] components = new int[RADIXES.length];
+
+        /**
+         * Creates a filter.
+         *
+         * @param head  the value of every head component, or {@link #ANY}.
+         * @param slots the allowed region slots.
+         */
+        /* default */ @SuppressWarnings({"PMD.UseVarargs", "PMD.AvoidInstantiatingObjectsInLoops"})
+        Filter(final int[] head, final boolean[] slots) {
+            for (int i = 0; i < RADIXES.length; i++) {
+                final int[] ceiling = new int[RADIXES[i] + 1];
+                int next = PlateKey.INVALID;
+                ceiling[RADIXES[i]] = next;
+                for (int value = RADIXES[i] - 1; value >= 0; value--) {
+                    final boolean allowed = i == REGION_COMPONENT ? slots[value] : head[i] == ANY || head[i] == value;
+                    if (allowed) {
+                        next = value;
+                    }
+                    ceiling[value] = next;
+                }
+                ceilings[i] = ceiling;
+                minimums[i] = next;
+            }
+        }
+
+        /**
+         * Returns the value of a head key component for a plate character.
+         *
+         * @param position  the position of the character in the plate, {@code 0..5}.
+         * @param character the character.
+         * @return the component value, or {@link PlateKey#INVALID} if the character is not allowed at the position.
+         */
+        /* default */ static int componentValue(final int position, final char character) {
+            if (RADIXES[position] == DIGIT_RADIX) {
+                return PlateCharacters.isDigit(character) ? character - '0' : PlateKey.INVALID;
+            }
+            return PlateCharacters.letterIndex(character);
+        }
+
+        /**
+         * Checks whether no key can match the filter.
+         *
+         * @return {@code true} if some component has no allowed values.
+         */
+        /* default */ boolean isEmpty() {
+            for (final int minimum : minimums) {
+                if (minimum == PlateKey.INVALID) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Returns the smallest matching key not less than a key.
+         * <p>
+         * The filter must not be {@link #isEmpty() empty}.
+         *
+         * @param key the key.
+         * @return the smallest matching key, equal to {@code key} if it matches, or {@link PlateKey#INVALID}
+         *         if there is none.
+         */
+        /* default */ int ceiling(final int key) {
+            int rest = key;
+            for (int i = RADIXES.length - 1; i >= 0; i--) {
+                components[i] = rest % RADIXES[i];
+                rest /= RADIXES[i];
+            }
+            int mismatch = 0;
+            while (mismatch < RADIXES.length && ceilings[mismatch][components[mismatch]] == components[mismatch]) {
+                mismatch++;
+            }
+            if (mismatch == RADIXES.length) {
+                return key;
+            }
+            int value = ceilings[mismatch][components[mismatch]];
+            while (value == PlateKey.INVALID) {
+                mismatch--;
+                if (mismatch < 0) {
+                    return PlateKey.INVALID;
+                }
+                value = ceilings[mismatch][components[mismatch] + 1];
+            }
+            components[mismatch] = value;
+            final int tail = mismatch + 1;
+            System.arraycopy(minimums, tail, components, tail, RADIXES.length - tail);
+            int result = 0;
+            for (int i = 0; i < RADIXES.length; i++) {
+                result = result * RADIXES[i] + components[i];
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Lazy iterator of distinct keys matching a filter.
+     */
+    private final class Cursor implements Iterator<String> {
+        /**
+         * The filter of keys.
+         */
+        private final Filter filter;
+
+        /**
+         * Index of the next key to check.
+         */
+        private int position;
+
+        /**
+         * The next matching key, or {@link PlateKey#INVALID} at the end.
+         */
+        private int nextKey;
+
+        /**
+         * Creates a cursor positioned at the first matching key.
+         *
+         * @param keyFilter the filter of keys.
+         */
+        /* default */ Cursor(final Filter keyFilter) {
+            this.filter = keyFilter;
+            final int first = keyFilter.isEmpty() ? PlateKey.INVALID : keyFilter.ceiling(0);
+            this.position = first == PlateKey.INVALID ? keyCount : lowerBound(0, first);
+            this.nextKey = advance(PlateKey.INVALID);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            return nextKey != PlateKey.INVALID;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String next() {
+            if (nextKey == PlateKey.INVALID) {
+                throw new NoSuchElementException();
+            }
+            final int key = nextKey;
+            nextKey = advance(key);
+            return PlateKey.decode(key);
+        }
+
+        /**
+         * Finds the next matching key.
+         *
+         * @param previous the last returned key, skipped if it is repeated.
+         * @return the next matching key, or {@link PlateKey#INVALID} if there is none.
+         */
+        private int advance(final int previous) {
+            while (position < keyCount) {
+                final int key = keys.get(position);
+                if (key == previous) {
+                    position++;
+                } else {
+                    final int candidate = filter.ceiling(key);
+                    if (candidate == key) {
+                        position++;
+                        return key;
+                    }
+                    position = candidate == PlateKey.INVALID ? keyCount : lowerBound(position + 1, candidate);
+                }
+            }
+            return PlateKey.INVALID;
+        }
+    }
+}
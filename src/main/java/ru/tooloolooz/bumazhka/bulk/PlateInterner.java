@@ -0,0 +1,165 @@
+package ru.tooloolooz.bumazhka.bulk;
+
+import ru.tooloolooz.bumazhka.NotValidException;
+import ru.tooloolooz.bumazhka.plate.PlateKey;
+
+import java.nio.CharBuffer;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Deduplicating dictionary of vehicle registration plates.
+ * <p>
+ * Returns a single canonical {@code String} instance per distinct plate, so caches holding the same plate
+ * many times keep only one copy of it. Plates are validated as
+ * {@link ru.tooloolooz.bumazhka.VehiclePlateValidator.PlateType#TYPE_1} plates, the same way as
+ * {@link ru.tooloolooz.bumazhka.VehiclePlateValidator#validate(String)} does.
+ * <p>
+ * The dictionary is a bounded open-addressing table of plate strings. Slots are looked up by a hash of the
+ * {@link PlateKey} computed directly from the plate characters and are probed linearly up to
+ * a small limit. Since every plate has a distinct key, probed plates are compared by their characters
+ * and are never encoded again. When all probed slots are taken by other plates, the first probed slot is overwritten,
+ * so a plate is canonical only while it stays in the table.
+ * <p>
+ * <b>Thread Safety:</b>
+ * This class is thread-safe and lock-free. Lookups are plain volatile reads, new plates are published
+ * with a single compare-and-set.
+ *
+ * @see PlateKey
+ */
+public final class PlateInterner {
+    /**
+     * Maximum number of slots.
+     */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * Number of slots probed before a slot is overwritten.
+     */
+    private static final int PROBE_LIMIT = 8;
+
+    /**
+     * Multiplier of Fibonacci hashing, {@code 2^32} divided by the golden ratio.
+     */
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+    /**
+     * Plate slots, {@code null} for empty slots.
+     */
+    private final AtomicReferenceArray<String> table;
+
+    /**
+     * Mask of slot indexes.
+     */
+    private final int mask;
+
+    /**
+     * Shift of the hash to the slot index range.
+     */
+    private final int shift;
+
+    /**
+     * Creates an empty interner.
+     *
+     * @param capacity the minimum number of slots, rounded up to a power of two.
+     * @throws IllegalArgumentException if {@code capacity} is not in range {@code 1..2^30}.
+     */
+    public PlateInterner(final int capacity) {
+        if (capacity <= 0 || MAX_CAPACITY < capacity) {
+            throw new IllegalArgumentException("Capacity must be in range 1.." + MAX_CAPACITY + ": " + capacity);
+        }
+        final int size = Math.max(PROBE_LIMIT, Integer.highestOneBit(capacity - 1) << 1);
+        this.table = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.shift = Integer.numberOfLeadingZeros(mask);
+    }
+
+    /**
+     * Returns the canonical instance of a plate.
+     * <p>
+     * If the plate is not present, the given instance becomes canonical.
+     *
+     * @param plate the plate to intern.
+     * @return the canonical instance equal to {@code plate}.
+     * @throws IllegalArgumentException if {@code plate} is {@code null}.
+     * @throws NotValidException        if {@code plate} is invalid.
+     */
+    public String intern(final String plate) {
+        final int key = PlateKey.encode(plate);
+        if (key == PlateKey.INVALID) {
+            throw new NotValidException("Invalid vehicle state registration plate: " + plate);
+        }
+        return insert(key, plate);
+    }
+
+    /**
+     * Returns the canonical instance of a plate stored in a character array.
+     * <p>
+     * A new {@code String} is created only if the plate is not present.
+     *
+     * @param chars  the array containing the plate.
+     * @param offset the index of the first plate character.
+     * @param length the number of plate characters.
+     * @return the canonical instance of the plate.
+     * @throws IllegalArgumentException  if {@code chars} is {@code null}.
+     * @throws IndexOutOfBoundsException if the range is out of the array bounds.
+     * @throws NotValidException         if the plate is invalid.
+     */
+    public String intern(final char[] chars, final int offset, final int length) {
+        final int key = PlateKey.encode(chars, offset, length);
+        if (key == PlateKey.INVALID) {
+            throw new NotValidException("Invalid vehicle state registration plate: "
+                                        + String.valueOf(chars, offset, length));
+        }
+        return insert(key, CharBuffer.wrap(chars, offset, length));
+    }
+
+    /**
+     * Returns the number of slots.
+     *
+     * @return the number of slots.
+     */
+    public int capacity() {
+        return table.length();
+    }
+
+    /**
+     * Finds the canonical instance of a plate or publishes a new one.
+     * <p>
+     * The plate is converted to a {@code String} only when it is published, so a {@code String} plate
+     * is published as is.
+     *
+     * @param key   the key of the plate.
+     * @param plate the characters of the plate.
+     * @return the canonical instance.
+     */
+    private String insert(final int key, final CharSequence plate) {
+        final int home = home(key);
+        for (int i = 0; i < PROBE_LIMIT; i++) {
+            final int slot = (home + i) & mask;
+            String current = table.get(slot);
+            if (current == null) {
+                final String published = plate.toString();
+                current = table.compareAndExchange(slot, null, published);
+                if (current == null) {
+                    return published;
+                }
+            }
+            if (current.contentEquals(plate)) {
+                return current;
+            }
+        }
+        final String published = plate.toString();
+        table.set(home, published);
+        return published;
+    }
+
+    /**
+     * Returns the first probed slot of a key.
+     *
+     * @param key the key of the plate.
+     * @return the slot index.
+     */
+    private int home(final int key) {
+        return (key * HASH_MULTIPLIER) >>> shift;
+    }
+}
@@ -0,0 +1,461 @@
+package ru.tooloolooz.bumazhka.bulk;
+
+import org.jspecify.annotations.Nullable;
+import ru.tooloolooz.bumazhka.Assert;
+import ru.tooloolooz.bumazhka.VehiclePlateValidator;
+import ru.tooloolooz.bumazhka.jfr.ValidationBatch;
+import ru.tooloolooz.bumazhka.jfr.ValidationBatches;
+import ru.tooloolooz.bumazhka.plate.PlateKey;
+import ru.tooloolooz.bumazhka.plate.RejectionReason;
+import ru.tooloolooz.bumazhka.plate.Type1PlateValidator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.function.Consumer;
+
+/**
+ * External sorter of large plate files.
+ * <p>
+ * Reads a UTF-8 text file with one plate per line, maps every valid
+ * {@link VehiclePlateValidator.PlateType#TYPE_1} plate to its {@link PlateKey}
+ * and writes the sorted keys to a binary file of big-endian {@code int} values. Invalid lines are skipped.
+ * <p>
+ * Keys are collected in off-heap runs of a fixed size in the native byte order, so the radix passes do not
+ * swap bytes. Every run is sorted by a two-pass LSD radix sort and spilled to a temporary file, then the runs
+ * are merged in passes of at most {@value #MERGE_FAN_IN} files, so the number of open files does not depend
+ * on the input size. Since keys preserve the order of plates, the result is sorted exactly like
+ * {@link String#compareTo(String)} would sort the plates.
+ * <p>
+ * Sorted key files are consumed by {@link PlateMergeJoin}, keys can be converted back with
+ * {@link PlateKey#decode(int)}.
+ * <p>
+ * Every sort is reported through {@link ValidationBatches}.
+ * <p>
+ * <b>Thread Safety:</b>
+ * Instances are not thread-safe, the run buffers are reused between {@link #sort(Path, Path)} calls.
+ *
+ * @see PlateKey
+ * @see PlateMergeJoin
+ */
+public final class PlateKeySorter {
+    /**
+     * Number of key bits sorted by one radix sort pass.
+     */
+    private static final int DIGIT_BITS = 16;
+
+    /**
+     * Number of buckets of one radix sort pass.
+     */
+    private static final int BUCKETS = 1 << DIGIT_BITS;
+
+    /**
+     * Mask of one radix sort digit.
+     */
+    private static final int DIGIT_MASK = BUCKETS - 1;
+
+    /**
+     * Maximum number of keys of a run, limited by the size of a direct buffer.
+     */
+    private static final int MAX_RUN_SIZE = Integer.MAX_VALUE / Integer.BYTES;
+
+    /**
+     * Maximum number of run files merged at once.
+     */
+    private static final int MERGE_FAN_IN = 64;
+
+    /**
+     * Number of runs moved to the target file without a merge.
+     */
+    private static final int SINGLE_RUN = 1;
+
+    /**
+     * Number of bytes of an input file chunk mapped at once.
+     */
+    private static final int CHUNK_SIZE = 1 << 26;
+
+    /**
+     * Directory of temporary run files.
+     */
+    private final Path tempDir;
+
+    /**
+     * Off-heap buffer of keys of the current run.
+     */
+    private final IntBuffer run;
+
+    /**
+     * Off-heap scratch buffer of the radix sort.
+     */
+    private final IntBuffer scratch;
+
+    /**
+     * Bucket offsets of the radix sort.
+     */
+    private final int[] offsets = new int[BUCKETS];
+
+    /**
+     * Creates a sorter.
+     *
+     * @param directory the directory of temporary run files.
+     * @param runSize   the number of keys sorted in memory at once, two off-heap buffers of
+     *                  {@code 4 * runSize} bytes are allocated.
+     * @throws IllegalArgumentException if {@code directory} is {@code null} or {@code runSize} is not positive.
+     */
+    public PlateKeySorter(final Path directory, final int runSize) {
+        Assert.notNull(directory, "Temp dir must be not null");
+        if (runSize <= 0 || MAX_RUN_SIZE < runSize) {
+            throw new IllegalArgumentException("Run size must be in range 1.." + MAX_RUN_SIZE + ": " + runSize);
+        }
+        this.tempDir = directory;
+        this.run = ByteBuffer.allocateDirect(runSize * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+        this.scratch = ByteBuffer.allocateDirect(runSize * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    /**
+     * Sorts the plates of a text file into a key file.
+     *
+     * @param plates the UTF-8 text file with one plate per line, see {@link MappedLines} for the line format.
+     * @param target the key file to write, replaced if it exists.
+     * @return the number of written keys.
+     * @throws IllegalArgumentException if {@code plates} or {@code target} is {@code null}.
+     * @throws IOException              if a file cannot be read or written.
+     */
+    public long sort(final Path plates, final Path target) throws IOException {
+        Assert.notNull(plates, "Plates must be not null");
+        Assert.notNull(target, "Target must be not null");
+
+        final ValidationBatch batch = ValidationBatches.begin("PlateKeySorter",
+                VehiclePlateValidator.PlateType.TYPE_1);
+        final long[] rejected = new long[RejectionReason.values().length];
+        try (RunFiles runs = new RunFiles()) {
+            final long count = spillRuns(plates, runs, rejected, batch.isRecorded());
+            runs.merge(target);
+            batch.finish(count + Arrays.stream(rejected).sum(), rejected);
+            return count;
+        }
+    }
+
+    /**
+     * Reads plates, collects their keys in runs and spills every sorted run to a temporary file.
+     * <p>
+     * The file is read in {@link MappedLines} chunks of {@value #CHUNK_SIZE} bytes, so no {@code String} is
+     * created per line.
+     *
+     * @param plates   the text file of plates.
+     * @param runs     the temporary run files.
+     * @param rejected the numbers of invalid plates indexed by {@link RejectionReason#ordinal()}.
+     * @param classify whether invalid plates are classified into {@code rejected}.
+     * @return the number of valid plates.
+     * @throws IOException if a file cannot be read or written.
+     */
+    private long spillRuns(final Path plates, final RunFiles runs, final long[] rejected, final boolean classify)
+            throws IOException {
+        run.clear();
+        final RunCollector collector = new RunCollector(runs, rejected, classify);
+        for (final MappedLines chunk : MappedLines.split(plates, CHUNK_SIZE)) {
+            chunk.forEachLine(collector);
+            collector.checkSpilled();
+        }
+        if (run.position() > 0 || runs.isEmpty()) {
+            spill(runs.create());
+        }
+        return collector.count;
+    }
+
+    /**
+     * Sorts the current run and writes it to a file.
+     *
+     * @param file the run file.
+     * @throws IOException if the file cannot be written.
+     */
+    private void spill(final Path file) throws IOException {
+        final int size = run.position();
+        radixSort(size);
+        try (KeyFileWriter writer = new KeyFileWriter(file)) {
+            for (int i = 0; i < size; i++) {
+                writer.write(run.get(i));
+            }
+        }
+        run.clear();
+    }
+
+    /**
+     * Sorts the first keys of the current run by a two-pass LSD radix sort.
+     * <p>
+     * Keys are non-negative {@code int} values, so two passes of 16-bit digits fully sort them and leave
+     * the result in the run buffer.
+     *
+     * @param size the number of keys.
+     */
+    private void radixSort(final int size) {
+        distribute(run, scratch, size, 0);
+        distribute(scratch, run, size, DIGIT_BITS);
+    }
+
+    /**
+     * Performs one stable counting sort pass by a 16-bit digit.
+     *
+     * @param src   the keys to sort.
+     * @param dst   the buffer receiving sorted keys.
+     * @param size  the number of keys.
+     * @param shift the shift of the digit.
+     */
+    private void distribute(final IntBuffer src, final IntBuffer dst, final int size, final int shift) {
+        Arrays.fill(offsets, 0);
+        for (int i = 0; i < size; i++) {
+            offsets[(src.get(i) >>> shift) & DIGIT_MASK]++;
+        }
+        int offset = 0;
+        for (int digit = 0; digit < BUCKETS; digit++) {
+            final int count = offsets[digit];
+            offsets[digit] = offset;
+            offset += count;
+        }
+        for (int i = 0; i < size; i++) {
+            final int key = src.get(i);
+            final int digit = (key >>> shift) & DIGIT_MASK;
+            dst.put(offsets[digit], key);
+            offsets[digit]++;
+        }
+    }
+
+    /**
+     * Merges sorted run files into a single sorted file.
+     *
+     * @param files  the run files, at most {@value #MERGE_FAN_IN}.
+     * @param target the merged file.
+     * @throws IOException if a file cannot be read or written.
+     */
+    private static void merge(final List<Path> files, final Path target) throws IOException {
+        final Queue<KeyFileReader> queue = new PriorityQueue<>(files.size(),
+                Comparator.comparingInt(KeyFileReader::key));
+        try (KeyFileWriter writer = new KeyFileWriter(target)) {
+            merge(files, 0, queue, writer);
+        }
+    }
+
+    /**
+     * Opens the remaining run files one by one and merges all of them once every file is open.
+     * <p>
+     * Every level of the recursion owns exactly one reader, so all readers are closed whatever happens,
+     * the depth is bounded by {@value #MERGE_FAN_IN}.
+     *
+     * @param files  the run files.
+     * @param index  the index of the next file to open.
+     * @param queue  the readers positioned at their smallest unmerged key.
+     * @param writer the writer of the merged file.
+     * @throws IOException if a file cannot be read or written.
+     */
+    @SuppressWarnings("PMD.CloseResource")
+    private static void merge(final List<Path> files, final int index, final Queue<KeyFileReader> queue,
+                              final KeyFileWriter writer) throws IOException {
+        if (index == files.size()) {
+            while (!queue.isEmpty()) {
+                final KeyFileReader reader = queue.poll();
+                writer.write(reader.key());
+                if (reader.next()) {
+                    queue.add(reader);
+                }
+            }
+            return;
+        }
+        try (KeyFileReader reader = new KeyFileReader(files.get(index))) {
+            if (reader.next()) {
+                queue.add(reader);
+            }
+            merge(files, index + 1, queue, writer);
+        }
+    }
+
+    /**
+     * Consumer of the decoded lines of a plate file, collecting keys of valid plates into the current run.
+     * <p>
+     * A full run is spilled from within the consumer. A consumer cannot throw {@link IOException}, so a failed
+     * spill is kept, the remaining lines of the chunk are ignored and the failure is thrown by
+     * {@link #checkSpilled()} once the chunk is done.
+     */
+    private final class RunCollector implements Consumer<CharSequence> {
+        /**
+         * The temporary run files.
+         */
+        private final RunFiles runs;
+
+        /**
+         * The numbers of invalid plates indexed by {@link RejectionReason#ordinal()}.
+         */
+        private final long[] rejected;
+
+        /**
+         * Whether invalid plates are classified into {@link #rejected}.
+         */
+        private final boolean classify;
+
+        /**
+         * Number of valid plates.
+         */
+        private long count;
+
+        /**
+         * Failure of the last spill, lines are ignored once it is set.
+         */
+        private @Nullable IOException failure;
+
+        /**
+         * Creates a collector.
+         *
+         * @param runFiles         the temporary run files.
+         * @param rejectedByReason the numbers of invalid plates indexed by {@link RejectionReason#ordinal()}.
+         * @param classifyRejected whether invalid plates are classified into {@code rejectedByReason}.
+         */
+        private RunCollector(final RunFiles runFiles, final long[] rejectedByReason, final boolean classifyRejected) {
+            this.runs = runFiles;
+            this.rejected = rejectedByReason;
+            this.classify = classifyRejected;
+        }
+
+        /**
+         * Collects the key of a plate, or counts it as rejected.
+         *
+         * @param line the decoded line, valid only during the call.
+         */
+        @Override
+        public void accept(final CharSequence line) {
+            if (failure != null) {
+                return;
+            }
+            final int key = PlateKey.encode(line);
+            if (key == PlateKey.INVALID) {
+                if (classify) {
+                    rejected[Type1PlateValidator.INSTANCE.rejectionReason(line).ordinal()]++;
+                }
+            } else {
+                run.put(key);
+                count++;
+                if (!run.hasRemaining()) {
+                    spillFull();
+                }
+            }
+        }
+
+        /**
+         * Spills the full current run, keeping the failure if the run cannot be spilled.
+         */
+        private void spillFull() {
+            try {
+                spill(runs.create());
+            } catch (final IOException e) {
+                failure = e;
+            }
+        }
+
+        /**
+         * Throws the failure of a spill of the lines collected so far.
+         *
+         * @throws IOException if a run could not be spilled.
+         */
+        private void checkSpilled() throws IOException {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * Temporary run files of one sort, the files left on close are deleted.
+     */
+    private final class RunFiles implements Closeable {
+        /**
+         * Run files in creation order.
+         */
+        private final List<Path> files;
+
+        /**
+         * Creates an empty set of run files.
+         */
+        private RunFiles() {
+            this.files = new ArrayList<>();
+        }
+
+        /**
+         * Creates a new empty run file.
+         *
+         * @return the run file.
+         * @throws IOException if the file cannot be created.
+         */
+        private Path create() throws IOException {
+            final Path file = Files.createTempFile(tempDir, "plates", ".run");
+            files.add(file);
+            return file;
+        }
+
+        /**
+         * Checks whether there are no run files.
+         *
+         * @return {@code true} if no run file was created.
+         */
+        private boolean isEmpty() {
+            return files.isEmpty();
+        }
+
+        /**
+         * Merges all run files into the target file.
+         * <p>
+         * The oldest {@value #MERGE_FAN_IN} runs are merged into a new run until the remaining runs can be
+         * merged at once. A single run is moved to the target file.
+         *
+         * @param target the merged file, replaced if it exists.
+         * @throws IOException if a file cannot be read, written or moved.
+         */
+        private void merge(final Path target) throws IOException {
+            while (files.size() > MERGE_FAN_IN) {
+                final Path merged = create();
+                final List<Path> batch = files.subList(0, MERGE_FAN_IN);
+                PlateKeySorter.merge(batch, merged);
+                delete(batch);
+            }
+            if (files.size() == SINGLE_RUN) {
+                Files.move(files.get(0), target, StandardCopyOption.REPLACE_EXISTING);
+                files.clear();
+            } else {
+                PlateKeySorter.merge(files, target);
+                delete(files);
+            }
+        }
+
+        /**
+         * Deletes run files and forgets them.
+         *
+         * @param batch the run files, a view of the run list.
+         * @throws IOException if a file cannot be deleted.
+         */
+        private void delete(final Collection<Path> batch) throws IOException {
+            for (final Path file : batch) {
+                Files.deleteIfExists(file);
+            }
+            batch.clear();
+        }
+
+        /**
+         * Deletes the remaining run files.
+         *
+         * @throws IOException if a file cannot be deleted.
+         */
+        @Override
+        public void close() throws IOException {
+            delete(files);
+        }
+    }
+}
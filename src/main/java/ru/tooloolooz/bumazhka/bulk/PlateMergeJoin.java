@@ -0,0 +1,96 @@
+package ru.tooloolooz.bumazhka.bulk;
+
+import ru.tooloolooz.bumazhka.Assert;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Streaming merge-join of sorted plate key files.
+ * <p>
+ * Joins two files written by {@link PlateKeySorter} in a single sequential pass over both of them and
+ * reports every distinct plate key together with the number of its occurrences in each file.
+ * Inner joins, anti-joins and full outer joins are expressed by filtering the reported counts,
+ * for example plates seen by cameras but missing in a registry have a zero right count.
+ * <p>
+ * Only two small read buffers are held in memory regardless of the file sizes.
+ *
+ * @see PlateKeySorter
+ * @see ru.tooloolooz.bumazhka.plate.PlateKey
+ */
+public final class PlateMergeJoin {
+    /**
+     * Key of an exhausted file, greater than every plate key.
+     */
+    private static final int END = Integer.MAX_VALUE;
+
+    /**
+     * This class is a utility class and should not be instantiated.
+     *
+     * @throws UnsupportedOperationException always.
+     */
+    private PlateMergeJoin() {
+        Assert.unsupported("Utility class should not be instantiated");
+    }
+
+    /**
+     * Joins two sorted key files.
+     *
+     * @param left     the left sorted key file.
+     * @param right    the right sorted key file.
+     * @param listener the listener receiving every distinct key in ascending order.
+     * @throws IllegalArgumentException if any argument is {@code null}.
+     * @throws IOException              if a file cannot be read.
+     */
+    public static void join(final Path left, final Path right, final Listener listener) throws IOException {
+        Assert.notNull(left, "Left must be not null");
+        Assert.notNull(right, "Right must be not null");
+        Assert.notNull(listener, "Listener must be not null");
+
+        try (KeyFileReader leftReader = new KeyFileReader(left);
+             KeyFileReader rightReader = new KeyFileReader(right)) {
+            int leftKey = next(leftReader);
+            int rightKey = next(rightReader);
+            while (leftKey != END || rightKey != END) {
+                final int key = Math.min(leftKey, rightKey);
+                long leftCount = 0;
+                while (leftKey == key) {
+                    leftCount++;
+                    leftKey = next(leftReader);
+                }
+                long rightCount = 0;
+                while (rightKey == key) {
+                    rightCount++;
+                    rightKey = next(rightReader);
+                }
+                listener.onKey(key, leftCount, rightCount);
+            }
+        }
+    }
+
+    /**
+     * Moves a reader to the next key.
+     *
+     * @param reader the reader.
+     * @return the next key, or {@link #END} at the end of the file.
+     * @throws IOException if the file cannot be read.
+     */
+    private static int next(final KeyFileReader reader) throws IOException {
+        return reader.next() ? reader.key() : END;
+    }
+
+    /**
+     * Receiver of merge-join results.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * Receives a distinct plate key found in at least one of the joined files.
+         *
+         * @param key        the plate key, see {@link ru.tooloolooz.bumazhka.plate.PlateKey#decode(int)}.
+         * @param leftCount  the number of occurrences of the key in the left file.
+         * @param rightCount the number of occurrences of the key in the right file.
+         */
+        void onKey(int key, long leftCount, long rightCount);
+    }
+}
@@ -0,0 +1,233 @@
+package ru.tooloolooz.bumazhka.bulk;
+
+import ru.tooloolooz.bumazhka.Assert;
+import ru.tooloolooz.bumazhka.VehiclePlateValidator;
+import ru.tooloolooz.bumazhka.VehicleRegionCodeValidator;
+import ru.tooloolooz.bumazhka.jfr.ValidationBatch;
+import ru.tooloolooz.bumazhka.jfr.ValidationBatches;
+import ru.tooloolooz.bumazhka.plate.RejectionReason;
+import ru.tooloolooz.bumazhka.plate.Type1PlateValidator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Histogram of vehicle registration plates by region code.
+ * <p>
+ * Plates are validated as {@link VehiclePlateValidator.PlateType#TYPE_1} plates
+ * and counted by the numeric value of their region code in a single pass, see
+ * {@link Type1PlateValidator#regionCode(CharSequence)}. Counters are kept in a plain {@code long[]}
+ * indexed by the region code, so no substrings or boxed values are created per plate.
+ * <p>
+ * The {@code of} factory methods split the input into fork-join tasks, each task fills its own
+ * histogram and the partial histograms are merged at the end. Files are split into {@link MappedLines}
+ * chunks, so files of any size are split evenly and no {@code String} is created per line.
+ * <p>
+ * Invalid plates are counted by {@link RejectionReason}, see {@link #rejected(RejectionReason)}.
+ * Every histogram built by an {@code of} factory method is reported through {@link ValidationBatches}.
+ * <p>
+ * <b>Thread Safety:</b>
+ * Instances are mutable and not thread-safe. Use one instance per thread and {@link #merge(RegionHistogram)}
+ * them afterwards.
+ *
+ * @see Type1PlateValidator
+ * @see VehicleRegionCodeValidator#parse(CharSequence, int, int)
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class RegionHistogram {
+    /**
+     * Exclusive upper bound of numeric region codes.
+     */
+    private static final int REGION_CODE_BOUND = 1000;
+
+    /**
+     * Multiplier of the first digit of 3-digit region codes.
+     */
+    private static final int HUNDRED = 100;
+
+    /**
+     * Number of bytes of a file chunk processed by one task.
+     */
+    private static final int CHUNK_SIZE = 1 << 26;
+
+    /**
+     * Number of plates per numeric region code.
+     */
+    private final long[] counts = new long[REGION_CODE_BOUND];
+
+    /**
+     * Number of invalid plates indexed by {@link RejectionReason#ordinal()}.
+     */
+    private final long[] rejectedCounts = new long[RejectionReason.values().length];
+
+    /**
+     * Creates an empty histogram.
+     */
+    public RegionHistogram() {
+        // Counters start at zero.
+    }
+
+    /**
+     * Builds a histogram of the given plates using the common fork-join pool.
+     *
+     * @param plates the plates to count.
+     * @return the histogram of the plates.
+     * @throws IllegalArgumentException if {@code plates} is {@code null}.
+     */
+    @SuppressWarnings("PMD.ShortMethodName")
+    public static RegionHistogram of(final CharSequence... plates) {
+        Assert.notNull(plates, "Plates must be not null");
+
+        return of(Arrays.stream(plates).parallel());
+    }
+
+    /**
+     * Builds a histogram of the plates of a stream.
+     * <p>
+     * The stream is processed in parallel only if it is a parallel stream.
+     *
+     * @param plates the plates to count.
+     * @return the histogram of the plates.
+     * @throws IllegalArgumentException if {@code plates} is {@code null}.
+     */
+    @SuppressWarnings("PMD.ShortMethodName")
+    public static RegionHistogram of(final Stream<? extends CharSequence> plates) {
+        Assert.notNull(plates, "Plates must be not null");
+
+        final ValidationBatch batch = ValidationBatches.begin("RegionHistogram",
+                VehiclePlateValidator.PlateType.TYPE_1);
+        final RegionHistogram histogram = plates.collect(RegionHistogram::new, RegionHistogram::add,
+                RegionHistogram::merge);
+        batch.finish(histogram.total() + histogram.rejected(), histogram.rejectedCounts);
+        return histogram;
+    }
+
+    /**
+     * Builds a histogram of a UTF-8 text file containing one plate per line.
+     * <p>
+     * The file is mapped in chunks of {@value #CHUNK_SIZE} bytes processed by the common fork-join pool,
+     * see {@link MappedLines} for the line format.
+     *
+     * @param file the file to read.
+     * @return the histogram of the plates.
+     * @throws IllegalArgumentException if {@code file} is {@code null}.
+     * @throws IOException              if the file cannot be read.
+     */
+    @SuppressWarnings("PMD.ShortMethodName")
+    public static RegionHistogram of(final Path file) throws IOException {
+        Assert.notNull(file, "File must be not null");
+
+        return of(MappedLines.split(file, CHUNK_SIZE).parallelStream().mapMulti(MappedLines::forEachLine));
+    }
+
+    /**
+     * Validates a plate and counts it either by its region code or as rejected.
+     *
+     * @param plate the plate to count.
+     * @throws IllegalArgumentException if {@code plate} is {@code null}.
+     */
+    public void add(final CharSequence plate) {
+        Assert.notNull(plate, "Plate must be not null");
+
+        final int regionCode = Type1PlateValidator.INSTANCE.regionCode(plate);
+        if (regionCode == VehicleRegionCodeValidator.INVALID_CODE) {
+            rejectedCounts[Type1PlateValidator.INSTANCE.rejectionReason(plate).ordinal()]++;
+        } else {
+            counts[regionCode]++;
+        }
+    }
+
+    /**
+     * Adds all counters of another histogram to this histogram.
+     *
+     * @param other the histogram to merge.
+     */
+    public void merge(final RegionHistogram other) {
+        for (int i = 0; i < REGION_CODE_BOUND; i++) {
+            counts[i] += other.counts[i];
+        }
+        for (int i = 0; i < rejectedCounts.length; i++) {
+            rejectedCounts[i] += other.rejectedCounts[i];
+        }
+    }
+
+    /**
+     * Returns the number of valid plates with the given numeric region code.
+     *
+     * @param regionCode the numeric region code, as returned by
+     *                   {@link VehicleRegionCodeValidator#parse(CharSequence, int, int)}.
+     * @return the number of plates.
+     * @throws IndexOutOfBoundsException if {@code regionCode} is not in range {@code 0..999}.
+     */
+    public long count(final int regionCode) {
+        return counts[Objects.checkIndex(regionCode, REGION_CODE_BOUND)];
+    }
+
+    /**
+     * Returns the number of valid plates of a subject of the Russian Federation.
+     * <p>
+     * Sums the counters of the 2-digit code of the subject and of all 3-digit codes ending with it.
+     *
+     * @param subjectCode the numeric 2-digit code of the subject.
+     * @return the number of plates.
+     * @throws IndexOutOfBoundsException if {@code subjectCode} is not in range {@code 0..99}.
+     */
+    public long subjectCount(final int subjectCode) {
+        long sum = counts[Objects.checkIndex(subjectCode, HUNDRED)];
+        for (int code = HUNDRED + subjectCode; code < REGION_CODE_BOUND; code += HUNDRED) {
+            sum += counts[code];
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the number of valid plates.
+     *
+     * @return the number of valid plates.
+     */
+    public long total() {
+        long sum = 0;
+        for (final long count : counts) {
+            sum += count;
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the number of invalid plates.
+     *
+     * @return the number of invalid plates.
+     */
+    public long rejected() {
+        long sum = 0;
+        for (final long count : rejectedCounts) {
+            sum += count;
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the number of invalid plates rejected for the given reason.
+     *
+     * @param reason the reason of the rejection.
+     * @return the number of invalid plates, always {@code 0} for {@link RejectionReason#NONE}.
+     * @throws IllegalArgumentException if {@code reason} is {@code null}.
+     */
+    public long rejected(final RejectionReason reason) {
+        Assert.notNull(reason, "Reason must be not null");
+
+        return rejectedCounts[reason.ordinal()];
+    }
+
+    /**
+     * Returns a copy of the counters indexed by numeric region code.
+     *
+     * @return an array of {@code 1000} counters.
+     */
+    public long[] toArray() {
+        return counts.clone();
+    }
+}
@@ -0,0 +1,10 @@
+/**
+ * Bulk processing of vehicle registration plates.
+ * <p>
+ * Classes of this package validate, aggregate, deduplicate and index large amounts of plates using primitive
+ * per-thread state instead of per-plate objects.
+ */
+@NullMarked
+package ru.tooloolooz.bumazhka.bulk;
+
+import org.jspecify.annotations.NullMarked;
@@ -0,0 +1,114 @@
+package ru.tooloolooz.bumazhka.cli;
+
+import ru.tooloolooz.bumazhka.Assert;
+import ru.tooloolooz.bumazhka.VehiclePlateValidator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Command line validator of vehicle registration plates.
+ * <p>
+ * Usage: {@code bumazhka [--timing] [plate...]}. Plates are taken from the arguments or, if there are none,
+ * from the UTF-8 lines of the standard input. Every plate is validated as a
+ * {@link VehiclePlateValidator.PlateType#ANY} plate and the result is printed as a {@code true} or
+ * {@code false} line. The exit status is {@code 0} if all plates are valid and {@code 1} otherwise.
+ * <p>
+ * With {@code --timing}, the duration of the first validation call is printed to the standard error as
+ * {@code first-call-ns <nanos>}, which is used by {@code benchmark/startup.sh} to compare the first-call
+ * latency of the JVM and the native executable.
+ */
+public final class ValidationCli {
+    /**
+     * Option enabling the first-call timing.
+     */
+    /* default */ static final String TIMING_OPTION = "--timing";
+
+    /**
+     * Exit status if all plates are valid.
+     */
+    /* default */ static final int EXIT_VALID = 0;
+
+    /**
+     * Exit status if some plate is invalid.
+     */
+    /* default */ static final int EXIT_INVALID = 1;
+
+    /**
+     * This class is a utility class and should not be instantiated.
+     *
+     * @throws UnsupportedOperationException always.
+     */
+    private ValidationCli() {
+        Assert.unsupported("Utility class should not be instantiated");
+    }
+
+    /**
+     * Validates plates of the arguments or the standard input and exits with the validation status.
+     *
+     * @param args the command line arguments.
+     * @throws IOException if the standard input cannot be read.
+     */
+    public static void main(final String[] args) throws IOException {
+        final int status;
+        try (BufferedReader input = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+             PrintWriter err = new PrintWriter(new OutputStreamWriter(System.err, StandardCharsets.UTF_8), true)) {
+            status = run(args, input, out, err);
+        }
+        System.exit(status);
+    }
+
+    /**
+     * Validates plates of the arguments or the input.
+     *
+     * @param args  the command line arguments.
+     * @param input the input read if there are no plate arguments.
+     * @param out   the output of validation results.
+     * @param err   the output of the first-call timing.
+     * @return {@link #EXIT_VALID} if all plates are valid, {@link #EXIT_INVALID} otherwise.
+     * @throws IOException if the input cannot be read.
+     */
+    /* default */ static int run(final String[] args, final BufferedReader input, final PrintWriter out,
+                                 final PrintWriter err) throws IOException {
+        final boolean timing = args.length > 0 && TIMING_OPTION.equals(args[0]);
+        final int first = timing ? 1 : 0;
+        boolean allValid = true;
+        if (first < args.length) {
+            for (int i = first; i < args.length; i++) {
+                allValid &= validate(args[i], out, err, timing && i == first);
+            }
+        } else {
+            boolean firstCall = true;
+            for (String plate = input.readLine(); plate != null; plate = input.readLine()) {
+                allValid &= validate(plate, out, err, timing && firstCall);
+                firstCall = false;
+            }
+        }
+        return allValid ? EXIT_VALID : EXIT_INVALID;
+    }
+
+    /**
+     * Validates a plate and prints the result.
+     *
+     * @param plate the plate to validate.
+     * @param out   the output of the validation result.
+     * @param err   the output of the timing.
+     * @param timed whether to print the duration of the validation call.
+     * @return {@code true} if the plate is valid.
+     */
+    private static boolean validate(final String plate, final PrintWriter out, final PrintWriter err,
+                                    final boolean timed) {
+        final long start = System.nanoTime();
+        final boolean valid = VehiclePlateValidator.isValid(plate);
+        if (timed) {
+            err.println("first-call-ns " + (System.nanoTime() - start));
+        }
+        out.println(valid);
+        return valid;
+    }
+}
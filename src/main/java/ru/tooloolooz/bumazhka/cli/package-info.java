@@ -0,0 +1,7 @@
+/**
+ * Command line interface of plate validation, also built as a native executable by the {@code native} profile.
+ */
+@NullMarked
+package ru.tooloolooz.bumazhka.cli;
+
+import org.jspecify.annotations.NullMarked;
@@ -0,0 +1,202 @@
+package ru.tooloolooz.bumazhka.io;
+
+import ru.tooloolooz.bumazhka.Assert;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reader masking vehicle registration plates on the fly, for example {@code А019АА161} becomes
+ * {@code А***АА161}.
+ * <p>
+ * Plates are detected the same way as by {@link PlateRedactingWriter}, including plates split between
+ * reads of the underlying reader. Up to ten characters of a possible plate are held back until they are
+ * resolved or the underlying reader ends.
+ * <p>
+ * Marking is not supported.
+ * <p>
+ * <b>Thread Safety:</b>
+ * Instances are not thread-safe.
+ *
+ * @see PlateRedactingWriter
+ */
+public final class PlateRedactingReader extends FilterReader {
+    /**
+     * Size of the input buffer.
+     */
+    private static final int BUFFER_SIZE = 1024;
+
+    /**
+     * Detector and masker of plates.
+     */
+    private final PlateRedactor redactor = new PlateRedactor();
+
+    /**
+     * Input buffer.
+     */
+    private final char[] input = new char[BUFFER_SIZE];
+
+    /**
+     * Redacted characters ready to be read.
+     */
+    private final char[] output = new char[BUFFER_SIZE + PlateRedactor.MAX_OUTPUT];
+
+    /**
+     * Position of the next ready character.
+     */
+    private int outputPosition;
+
+    /**
+     * Number of ready characters.
+     */
+    private int outputLimit;
+
+    /**
+     * Whether the underlying reader has ended.
+     */
+    private boolean finished;
+
+    /**
+     * Creates a redacting reader.
+     *
+     * @param reader the reader of text to redact.
+     * @throws IllegalArgumentException if {@code reader} is {@code null}.
+     */
+    public PlateRedactingReader(final Reader reader) {
+        super(requireNonNull(reader));
+    }
+
+    /**
+     * Reads a single character.
+     *
+     * @return the character, or {@code -1} at the end of the stream.
+     * @throws IOException if the underlying reader fails.
+     */
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        final char character = output[outputPosition];
+        outputPosition++;
+        return character;
+    }
+
+    /**
+     * Reads characters into a portion of an array.
+     *
+     * @param chars  the destination array.
+     * @param offset the offset of the first character.
+     * @param length the maximum number of characters to read.
+     * @return the number of characters read, or {@code -1} at the end of the stream.
+     * @throws IOException if the underlying reader fails.
+     */
+    @Override
+    public int read(final char[] chars, final int offset, final int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        final int count = Math.min(length, outputLimit - outputPosition);
+        System.arraycopy(output, outputPosition, chars, offset, count);
+        outputPosition += count;
+        return count;
+    }
+
+    /**
+     * Skips characters.
+     *
+     * @param count the number of characters to skip.
+     * @return the number of characters skipped.
+     * @throws IOException if the underlying reader fails.
+     */
+    @Override
+    public long skip(final long count) throws IOException {
+        long skipped = 0;
+        while (skipped < count && fill()) {
+            final int step = (int) Math.min(count - skipped, outputLimit - outputPosition);
+            outputPosition += step;
+            skipped += step;
+        }
+        return skipped;
+    }
+
+    /**
+     * Tells whether redacted characters are ready to be read without blocking.
+     *
+     * @return {@code true} if redacted characters are buffered.
+     */
+    @Override
+    public boolean ready() {
+        return outputPosition < outputLimit;
+    }
+
+    /**
+     * Tells whether marking is supported.
+     *
+     * @return {@code false} always.
+     */
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * Marking is not supported.
+     *
+     * @param readAheadLimit ignored.
+     * @throws IOException always.
+     */
+    @Override
+    public void mark(final int readAheadLimit) throws IOException {
+        throw new IOException("mark() not supported");
+    }
+
+    /**
+     * Marking is not supported.
+     *
+     * @throws IOException always.
+     */
+    @Override
+    public void reset() throws IOException {
+        throw new IOException("reset() not supported");
+    }
+
+    /**
+     * Makes sure that redacted characters are ready to be read.
+     *
+     * @return {@code true} if characters are ready, {@code false} at the end of the stream.
+     * @throws IOException if the underlying reader fails.
+     */
+    private boolean fill() throws IOException {
+        while (outputPosition == outputLimit && !finished) {
+            outputPosition = 0;
+            outputLimit = 0;
+            final int count = in.read(input, 0, BUFFER_SIZE);
+            if (count == -1) {
+                finished = true;
+                outputLimit = redactor.finish(output, 0);
+            } else {
+                for (int i = 0; i < count; i++) {
+                    outputLimit = redactor.feed(input[i], output, outputLimit);
+                }
+            }
+        }
+        return outputPosition < outputLimit;
+    }
+
+    /**
+     * Checks the underlying reader before it is passed to the superclass constructor.
+     *
+     * @param reader the underlying reader.
+     * @return {@code reader}.
+     * @throws IllegalArgumentException if {@code reader} is {@code null}.
+     */
+    private static Reader requireNonNull(final Reader reader) {
+        Assert.notNull(reader, "Reader must be not null");
+        return reader;
+    }
+}
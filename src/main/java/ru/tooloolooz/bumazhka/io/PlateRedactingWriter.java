@@ -0,0 +1,183 @@
+package ru.tooloolooz.bumazhka.io;
+
+import ru.tooloolooz.bumazhka.Assert;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writer masking vehicle registration plates on the fly, for example {@code А019АА161} becomes
+ * {@code А***АА161}.
+ * <p>
+ * A plate is a valid {@link ru.tooloolooz.bumazhka.VehiclePlateValidator.PlateType#TYPE_1} plate that is
+ * neither preceded nor followed by a letter or digit. Detection uses the character classes of
+ * {@link ru.tooloolooz.bumazhka.plate.Type1PlateValidator} and the region codes of
+ * {@link ru.tooloolooz.bumazhka.VehicleRegionCodeValidator}, so plates split between {@code write} calls are
+ * masked as well.
+ * <p>
+ * Up to ten characters of a possible plate are held back until they are resolved. {@link #flush()} does not
+ * write them, since they may be the start of a plate; {@link #close()} does.
+ * <p>
+ * <b>Thread Safety:</b>
+ * Instances are not thread-safe.
+ *
+ * @see PlateRedactingReader
+ */
+public final class PlateRedactingWriter extends FilterWriter {
+    /**
+     * Size of the output buffer.
+     */
+    private static final int BUFFER_SIZE = 1024;
+
+    /**
+     * Detector and masker of plates.
+     */
+    private final PlateRedactor redactor = new PlateRedactor();
+
+    /**
+     * Output buffer.
+     */
+    private final char[] buffer = new char[BUFFER_SIZE];
+
+    /**
+     * Number of buffered output characters.
+     */
+    private int position;
+
+    /**
+     * Whether the writer is closed.
+     */
+    private boolean closed;
+
+    /**
+     * Creates a redacting writer.
+     *
+     * @param out the writer receiving redacted text.
+     * @throws IllegalArgumentException if {@code out} is {@code null}.
+     */
+    public PlateRedactingWriter(final Writer out) {
+        super(requireNonNull(out));
+    }
+
+    /**
+     * Writes a character.
+     *
+     * @param character the character to write.
+     * @throws IOException if the writer is closed or the underlying writer fails.
+     */
+    @Override
+    public void write(final int character) throws IOException {
+        ensureOpen();
+        feed((char) character);
+    }
+
+    /**
+     * Writes a portion of an array of characters.
+     *
+     * @param chars  the characters to write.
+     * @param offset the offset of the first character.
+     * @param length the number of characters.
+     * @throws IOException if the writer is closed or the underlying writer fails.
+     */
+    @Override
+    public void write(final char[] chars, final int offset, final int length) throws IOException {
+        ensureOpen();
+        for (int i = offset; i < offset + length; i++) {
+            feed(chars[i]);
+        }
+    }
+
+    /**
+     * Writes a portion of a string.
+     *
+     * @param str    the string to write.
+     * @param offset the offset of the first character.
+     * @param length the number of characters.
+     * @throws IOException if the writer is closed or the underlying writer fails.
+     */
+    @Override
+    public void write(final String str, final int offset, final int length) throws IOException {
+        ensureOpen();
+        for (int i = offset; i < offset + length; i++) {
+            feed(str.charAt(i));
+        }
+    }
+
+    /**
+     * Writes resolved characters and flushes the underlying writer.
+     *
+     * @throws IOException if the writer is closed or the underlying writer fails.
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        drain();
+        out.flush();
+    }
+
+    /**
+     * Writes all characters, including held back ones, and closes the underlying writer.
+     *
+     * @throws IOException if the underlying writer fails.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        final Writer target = out;
+        try (target) {
+            drain();
+            position = redactor.finish(buffer, position);
+            drain();
+        }
+    }
+
+    /**
+     * Checks that the writer is not closed.
+     *
+     * @throws IOException if the writer is closed.
+     */
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Writer is closed");
+        }
+    }
+
+    /**
+     * Feeds a character to the redactor, writing the output buffer when it may overflow.
+     *
+     * @param character the character.
+     * @throws IOException if the underlying writer fails.
+     */
+    private void feed(final char character) throws IOException {
+        if (BUFFER_SIZE - position < PlateRedactor.MAX_OUTPUT) {
+            drain();
+        }
+        position = redactor.feed(character, buffer, position);
+    }
+
+    /**
+     * Writes the output buffer to the underlying writer.
+     *
+     * @throws IOException if the underlying writer fails.
+     */
+    private void drain() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+    }
+
+    /**
+     * Checks the underlying writer before it is passed to the superclass constructor.
+     *
+     * @param out the underlying writer.
+     * @return {@code out}.
+     * @throws IllegalArgumentException if {@code out} is {@code null}.
+     */
+    private static Writer requireNonNull(final Writer out) {
+        Assert.notNull(out, "Writer must be not null");
+        return out;
+    }
+}
@@ -0,0 +1,210 @@
+package ru.tooloolooz.bumazhka.io;
+
+import ru.tooloolooz.bumazhka.VehicleRegionCodeValidator;
+import ru.tooloolooz.bumazhka.plate.PlateCharacters;
+
+/**
+ * Incremental detector and masker of plates in a character stream.
+ * <p>
+ * Characters are fed one by one and written to an output array as soon as they cannot be part of a plate.
+ * A plate is a {@link ru.tooloolooz.bumazhka.VehiclePlateValidator.PlateType#TYPE_1} plate that is neither
+ * preceded nor followed by a letter or digit, so plates glued to other words are left untouched.
+ * The digits of the registration number of a detected plate are replaced by {@link #MASK}.
+ * <p>
+ * At most {@link #LOOKAHEAD} characters are held back: a 9-character plate and the character following it.
+ */
+final class PlateRedactor {
+    /**
+     * Maximum number of characters held back.
+     */
+    /* default */ static final int LOOKAHEAD = 10;
+
+    /**
+     * Maximum number of characters written by a single {@link #feed(char, char[], int)} call.
+     */
+    /* default */ static final int MAX_OUTPUT = LOOKAHEAD + 1;
+
+    /**
+     * Character replacing the digits of the registration number.
+     */
+    /* default */ static final char MASK = '*';
+
+    /**
+     * Length of a plate with a 2-digit region code.
+     */
+    private static final int SHORT_PLATE = 8;
+
+    /**
+     * Length of a plate with a 3-digit region code.
+     */
+    private static final int LONG_PLATE = 9;
+
+    /**
+     * Position of the first region code character.
+     */
+    private static final int REGION_START = 6;
+
+    /**
+     * Position of the first registration number digit.
+     */
+    private static final int NUMBER_START = 1;
+
+    /**
+     * Position after the last registration number digit.
+     */
+    private static final int NUMBER_END = 4;
+
+    /**
+     * Characters held back as a possible plate prefix.
+     */
+    private final char[] pending;
+
+    /**
+     * Number of held back characters.
+     */
+    private int length;
+
+    /**
+     * The last character written to the output, {@code ' '} at the start of the stream.
+     */
+    private char previous;
+
+    /**
+     * Creates a redactor at the start of a stream.
+     */
+    /* default */ PlateRedactor() {
+        this.pending = new char[LOOKAHEAD];
+        this.previous = ' ';
+    }
+
+    /**
+     * Feeds a character.
+     *
+     * @param character the next character of the stream.
+     * @param out       the output array, must have room for {@link #MAX_OUTPUT} characters.
+     * @param position  the output position.
+     * @return the new output position.
+     */
+    /* default */ int feed(final char character, final char[] out, final int position) {
+        if (length == 0) {
+            return start(character, out, position);
+        }
+        pending[length] = character;
+        length++;
+        if (length <= SHORT_PLATE) {
+            if (matches(length - 1, character)) {
+                return position;
+            }
+            return restart(out, position);
+        }
+        if (length == LONG_PLATE && PlateCharacters.isDigit(character)) {
+            return position;
+        }
+        final int plateLength = length - 1;
+        if (!Character.isLetterOrDigit(character) && isRegion(plateLength)) {
+            maskNumber();
+        }
+        return restart(out, position);
+    }
+
+    /**
+     * Resolves held back characters at the end of the stream.
+     *
+     * @param out      the output array, must have room for {@link #LOOKAHEAD} characters.
+     * @param position the output position.
+     * @return the new output position.
+     */
+    /* default */ int finish(final char[] out, final int position) {
+        if (length >= SHORT_PLATE && isRegion(length)) {
+            maskNumber();
+        }
+        final int end = emit(out, position, length);
+        length = 0;
+        return end;
+    }
+
+    /**
+     * Handles a character when nothing is held back.
+     *
+     * @param character the character.
+     * @param out       the output array.
+     * @param position  the output position.
+     * @return the new output position.
+     */
+    private int start(final char character, final char[] out, final int position) {
+        if (PlateCharacters.isAllowedLetter(character) && !Character.isLetterOrDigit(previous)) {
+            pending[0] = character;
+            length = 1;
+            return position;
+        }
+        out[position] = character;
+        previous = character;
+        return position + 1;
+    }
+
+    /**
+     * Emits all held back characters except the last one and handles the last one from scratch.
+     * <p>
+     * A new plate cannot start inside the held back characters, since they are letters and digits.
+     *
+     * @param out      the output array.
+     * @param position the output position.
+     * @return the new output position.
+     */
+    private int restart(final char[] out, final int position) {
+        final char last = pending[length - 1];
+        final int end = emit(out, position, length - 1);
+        length = 0;
+        return start(last, out, end);
+    }
+
+    /**
+     * Copies held back characters to the output.
+     *
+     * @param out      the output array.
+     * @param position the output position.
+     * @param count    the number of characters to copy.
+     * @return the new output position.
+     */
+    private int emit(final char[] out, final int position, final int count) {
+        if (count > 0) {
+            System.arraycopy(pending, 0, out, position, count);
+            previous = pending[count - 1];
+        }
+        return position + count;
+    }
+
+    /**
+     * Checks if a character is allowed at a plate position preceding the end of a short plate.
+     *
+     * @param index     the position.
+     * @param character the character.
+     * @return {@code true} if the character is allowed.
+     */
+    private static boolean matches(final int index, final char character) {
+        return switch (index) {
+            case 0, NUMBER_END, NUMBER_END + 1 -> PlateCharacters.isAllowedLetter(character);
+            default -> PlateCharacters.isDigit(character);
+        };
+    }
+
+    /**
+     * Checks if held back characters from {@link #REGION_START} to {@code plateLength} form a region code.
+     *
+     * @param plateLength the length of the plate candidate.
+     * @return {@code true} if the region code is valid.
+     */
+    private boolean isRegion(final int plateLength) {
+        return VehicleRegionCodeValidator.parse(pending, REGION_START, plateLength)
+               != VehicleRegionCodeValidator.INVALID_CODE;
+    }
+
+    /**
+     * Masks the registration number of the held back plate.
+     */
+    private void maskNumber() {
+        for (int i = NUMBER_START; i < NUMBER_END; i++) {
+            pending[i] = MASK;
+        }
+    }
+}
@@ -0,0 +1,491 @@
+package ru.tooloolooz.bumazhka.io;
+
+import ru.tooloolooz.bumazhka.Assert;
+import ru.tooloolooz.bumazhka.plate.PlateKey;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Memory-mapped reader of columnar files of plate sightings written by {@link SightingFileWriter}.
+ * <p>
+ * The file is mapped once when it is opened, in segments starting every 1 GiB and overlapping by
+ * {@link SightingFormat#MAX_BLOCK_SIZE} bytes, and every scanned block is a slice of its segment.
+ * The block index stays in the mapped footer. Region scans skip blocks whose footer region bitmap does not
+ * contain the region, plate range scans skip blocks whose key range does not overlap the requested range,
+ * so skipped blocks are never touched. Plates are reported as {@link PlateKey} values and are not revalidated.
+ * <p>
+ * A scanned block is decoded and checked before any of its rows is reported, so a corrupt block fails the scan
+ * with an {@link IOException} instead of reporting garbage. Blocks are decoded into columns allocated once per
+ * scan.
+ * <p>
+ * <b>Thread Safety:</b>
+ * This class is thread-safe, scans do not share mutable state.
+ *
+ * @see SightingFileWriter
+ * @see PlateKey
+ */
+public final class SightingFileReader implements Closeable {
+    /**
+     * Distance between the starts of consecutive segments. A segment is mapped with an extra
+     * {@link SightingFormat#MAX_BLOCK_SIZE} bytes, so every block lies entirely in the segment it starts in.
+     */
+    private static final long SEGMENT_STRIDE = 1L << 30;
+
+    /**
+     * Channel of the file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Mapped footer, one entry per block.
+     */
+    private final ByteBuffer footer;
+
+    /**
+     * Mapped segments of the file before the footer.
+     */
+    private final ByteBuffer[] segments;
+
+    /**
+     * Path of the file, for error messages.
+     */
+    private final Path path;
+
+    /**
+     * Opens a sighting file, maps it and checks its block index.
+     *
+     * @param file the file to read.
+     * @throws IllegalArgumentException if {@code file} is {@code null}.
+     * @throws IOException              if the file cannot be read or is not a sighting file.
+     */
+    public SightingFileReader(final Path file) throws IOException {
+        Assert.notNull(file, "File must be not null");
+
+        this.path = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            this.footer = mapFooter(channel, file);
+            final long dataSize = channel.size() - SightingFormat.TRAILER_SIZE - footer.capacity();
+            this.segments = new ByteBuffer[(int) ((dataSize + SEGMENT_STRIDE - 1) / SEGMENT_STRIDE)];
+            for (int i = 0; i < segments.length; i++) {
+                final long start = i * SEGMENT_STRIDE;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                        Math.min(SEGMENT_STRIDE + SightingFormat.MAX_BLOCK_SIZE, dataSize - start));
+            }
+        } catch (final IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of sightings in the file.
+     *
+     * @return the number of sightings.
+     */
+    public long size() {
+        long size = 0;
+        for (int i = 0; i < blockCount(); i++) {
+            size += footer.getInt(i * SightingFormat.FOOTER_ENTRY_SIZE + SightingFormat.ROWS_OFFSET);
+        }
+        return size;
+    }
+
+    /**
+     * Returns the number of blocks in the file.
+     *
+     * @return the number of blocks.
+     */
+    public int blockCount() {
+        return footer.capacity() / SightingFormat.FOOTER_ENTRY_SIZE;
+    }
+
+    /**
+     * Reports all sightings in file order.
+     *
+     * @param visitor the receiver of sightings.
+     * @throws IllegalArgumentException if {@code visitor} is {@code null}.
+     * @throws IOException              if a block is corrupt.
+     */
+    public void scan(final Visitor visitor) throws IOException {
+        scanRange(0, PlateKey.BOUND, visitor);
+    }
+
+    /**
+     * Reports sightings with plate keys in range {@code [fromKey, toKey)} in file order.
+     * <p>
+     * Since plate keys preserve the order of plates, the range can be built from plates with
+     * {@link PlateKey#encode(CharSequence)}.
+     *
+     * @param fromKey the lowest plate key, inclusive.
+     * @param toKey   the highest plate key, exclusive.
+     * @param visitor the receiver of sightings.
+     * @throws IllegalArgumentException if {@code visitor} is {@code null}.
+     * @throws IOException              if a scanned block is corrupt.
+     */
+    public void scanRange(final int fromKey, final int toKey, final Visitor visitor) throws IOException {
+        Assert.notNull(visitor, "Visitor must be not null");
+
+        final Block block = new Block();
+        for (int i = 0; i < blockCount(); i++) {
+            final int entry = i * SightingFormat.FOOTER_ENTRY_SIZE;
+            if (fromKey <= footer.getInt(entry + SightingFormat.MAX_KEY_OFFSET)
+                && footer.getInt(entry + SightingFormat.MIN_KEY_OFFSET) < toKey) {
+                block.read(i);
+                block.scan(fromKey, toKey, Block.ANY_REGION, visitor);
+            }
+        }
+    }
+
+    /**
+     * Reports sightings of plates of a region in file order.
+     *
+     * @param regionCode the numeric region code, see {@link PlateKey#regionCode(int)}.
+     * @param visitor    the receiver of sightings.
+     * @throws IllegalArgumentException if {@code visitor} is {@code null}.
+     * @throws IOException              if a scanned block is corrupt.
+     */
+    public void scanRegion(final int regionCode, final Visitor visitor) throws IOException {
+        Assert.notNull(visitor, "Visitor must be not null");
+
+        if (regionCode < 0 || SightingFormat.REGION_CODES <= regionCode) {
+            return;
+        }
+        final int word = SightingFormat.REGIONS_OFFSET + regionCode / Long.SIZE * Long.BYTES;
+        final long bit = 1L << regionCode % Long.SIZE;
+        final Block block = new Block();
+        for (int i = 0; i < blockCount(); i++) {
+            if ((footer.getLong(i * SightingFormat.FOOTER_ENTRY_SIZE + word) & bit) != 0) {
+                block.read(i);
+                block.scan(0, PlateKey.BOUND, block.dictionaryIndex(regionCode), visitor);
+            }
+        }
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Checks the header and the trailer of a file and maps its footer.
+     *
+     * @param channel the channel of the file.
+     * @param file    the file, for error messages.
+     * @return the mapped footer.
+     * @throws IOException if the file cannot be read or is not a sighting file.
+     */
+    private static ByteBuffer mapFooter(final FileChannel channel, final Path file) throws IOException {
+        final long size = channel.size();
+        if (size < SightingFormat.HEADER_SIZE + SightingFormat.TRAILER_SIZE) {
+            throw new IOException("Not a sighting file: " + file);
+        }
+        final ByteBuffer trailer = channel.map(FileChannel.MapMode.READ_ONLY,
+                size - SightingFormat.TRAILER_SIZE, SightingFormat.TRAILER_SIZE);
+        final long footerOffset = trailer.getLong();
+        final long footerSize = (long) trailer.getInt() * SightingFormat.FOOTER_ENTRY_SIZE;
+        if (Integer.MAX_VALUE < footerSize || footerOffset + footerSize != size - SightingFormat.TRAILER_SIZE
+            || trailer.getInt() != SightingFormat.MAGIC) {
+            throw new IOException("Not a sighting file: " + file);
+        }
+        checkHeader(channel, file);
+        final ByteBuffer footer = channel.map(FileChannel.MapMode.READ_ONLY, footerOffset, footerSize);
+        checkBlocks(footer, footerOffset, file);
+        return footer;
+    }
+
+    /**
+     * Checks the magic number and the version of a file.
+     *
+     * @param channel the channel of the file.
+     * @param file    the file, for error messages.
+     * @throws IOException if the file cannot be read, is not a sighting file or has an unsupported version.
+     */
+    private static void checkHeader(final FileChannel channel, final Path file) throws IOException {
+        final ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, SightingFormat.HEADER_SIZE);
+        if (header.getInt() != SightingFormat.MAGIC) {
+            throw new IOException("Not a sighting file: " + file);
+        }
+        final int version = header.getInt();
+        if (version != SightingFormat.VERSION) {
+            throw new IOException("Unsupported sighting file version " + version + ": " + file);
+        }
+    }
+
+    /**
+     * Checks that every footer entry describes a block lying between the header and the footer, so blocks can
+     * be sliced from the segments without further checks.
+     *
+     * @param footer       the mapped footer.
+     * @param footerOffset the offset of the footer in the file.
+     * @param file         the file, for error messages.
+     * @throws IOException if an entry is out of bounds.
+     */
+    private static void checkBlocks(final ByteBuffer footer, final long footerOffset, final Path file)
+            throws IOException {
+        for (int entry = 0; entry < footer.capacity(); entry += SightingFormat.FOOTER_ENTRY_SIZE) {
+            final long offset = footer.getLong(entry);
+            final int length = footer.getInt(entry + SightingFormat.LENGTH_OFFSET);
+            if (length <= 0 || SightingFormat.MAX_BLOCK_SIZE < length || offset < SightingFormat.HEADER_SIZE
+                || footerOffset - length < offset) {
+                throw new IOException("Corrupt sighting file block at " + offset + ": " + file);
+            }
+        }
+    }
+
+    /**
+     * Receiver of sightings.
+     */
+    @FunctionalInterface
+    public interface Visitor {
+        /**
+         * Receives a sighting.
+         *
+         * @param plateKey  the plate key, see {@link PlateKey#decode(int)}.
+         * @param timestamp the timestamp.
+         * @param cameraId  the camera id.
+         */
+        void visit(int plateKey, long timestamp, int cameraId);
+    }
+
+    /**
+     * Decoder of the blocks of a scan.
+     * <p>
+     * A whole block is decoded and checked when it is read, so a corrupt block fails before any of its rows
+     * is reported. The decoded columns are reused for every block of the scan.
+     */
+    private final class Block {
+        /**
+         * Region index matching every row.
+         */
+        private static final int ANY_REGION = -1;
+
+        /**
+         * Exclusive upper bound of the plate key part stored per row, the key without its region slot.
+         */
+        private static final int HEAD_BOUND = PlateKey.BOUND / PlateKey.REGION_RADIX;
+
+        /**
+         * Region slots of the dictionary.
+         */
+        private final int[] dictionary = new int[PlateKey.REGION_RADIX];
+
+        /**
+         * Timestamp and camera id of every row, the row {@code i} is stored at {@code 2 * i} and {@code 2 * i + 1}.
+         */
+        private final long[] columns = new long[2 * SightingFormat.BLOCK_ROWS];
+
+        /**
+         * The mapped block.
+         */
+        private ByteBuffer buffer;
+
+        /**
+         * Index of the block in the file.
+         */
+        private int number;
+
+        /**
+         * Number of rows.
+         */
+        private int rows;
+
+        /**
+         * Number of region slots in {@link #dictionary}.
+         */
+        private int dictionarySize;
+
+        /**
+         * Width of a dictionary index in bytes.
+         */
+        private int indexWidth;
+
+        /**
+         * Position of the first dictionary index in {@link #buffer}.
+         */
+        private int indexStart;
+
+        /**
+         * Position of the first plate key head in {@link #buffer}.
+         */
+        private int headStart;
+
+        /**
+         * Creates a decoder with no block read.
+         */
+        private Block() {
+            this.buffer = footer;
+        }
+
+        /**
+         * Reads a block as a slice of its segment, decodes and checks it.
+         *
+         * @param block the index of the block.
+         * @throws IOException if the block is corrupt.
+         */
+        private void read(final int block) throws IOException {
+            this.number = block;
+            final int entry = block * SightingFormat.FOOTER_ENTRY_SIZE;
+            final long offset = footer.getLong(entry);
+            final int segment = (int) (offset / SEGMENT_STRIDE);
+            this.buffer = segments[segment].slice((int) (offset - segment * SEGMENT_STRIDE),
+                    footer.getInt(entry + SightingFormat.LENGTH_OFFSET));
+            final int expectedRows = footer.getInt(entry + SightingFormat.ROWS_OFFSET);
+            try {
+                final long rowCount = SightingFormat.getVarLong(buffer);
+                check(0 < expectedRows && expectedRows <= SightingFormat.BLOCK_ROWS && rowCount == expectedRows);
+                this.rows = expectedRows;
+                readDictionary();
+                this.indexWidth = buffer.get();
+                check(indexWidth == Byte.BYTES || indexWidth == Short.BYTES);
+                this.indexStart = buffer.position();
+                this.headStart = indexStart + rows * indexWidth;
+                final int timestampStart = headStart + rows * SightingFormat.HEAD_WIDTH;
+                check(timestampStart <= buffer.limit());
+                checkRows();
+                buffer.position(timestampStart);
+                readColumns();
+                check(!buffer.hasRemaining());
+            } catch (final BufferUnderflowException e) {
+                throw new IOException(corruption(), e);
+            }
+        }
+
+        /**
+         * Returns the dictionary index of a region.
+         *
+         * @param regionCode the numeric region code.
+         * @return the dictionary index, or the dictionary size, matching no row, if the block has no plates
+         *         of the region.
+         */
+        private int dictionaryIndex(final int regionCode) {
+            int index = 0;
+            while (index < dictionarySize && PlateKey.regionCode(dictionary[index]) != regionCode) {
+                index++;
+            }
+            return index;
+        }
+
+        /**
+         * Reports rows of the block.
+         *
+         * @param fromKey     the lowest plate key, inclusive.
+         * @param toKey       the highest plate key, exclusive.
+         * @param regionIndex the dictionary index of the required region, or {@link #ANY_REGION}.
+         * @param visitor     the receiver of sightings.
+         */
+        private void scan(final int fromKey, final int toKey, final int regionIndex, final Visitor visitor) {
+            for (int i = 0; i < rows; i++) {
+                final int index = index(i);
+                if (regionIndex == ANY_REGION || regionIndex == index) {
+                    final int key = head(i) * PlateKey.REGION_RADIX + dictionary[index];
+                    if (fromKey <= key && key < toKey) {
+                        visitor.visit(key, columns[2 * i], (int) columns[2 * i + 1]);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Reads the region dictionary, slots must be ascending region slots of {@link PlateKey}.
+         *
+         * @throws IOException if the dictionary is corrupt.
+         */
+        private void readDictionary() throws IOException {
+            final long size = SightingFormat.getVarLong(buffer);
+            check(0 < size && size <= Math.min(rows, PlateKey.REGION_RADIX));
+            this.dictionarySize = (int) size;
+            long slot = 0;
+            for (int i = 0; i < dictionarySize; i++) {
+                final long delta = SightingFormat.getVarLong(buffer);
+                slot += delta;
+                check((i == 0 ? 0 <= delta : 0 < delta) && slot < PlateKey.REGION_RADIX);
+                dictionary[i] = (int) slot;
+            }
+        }
+
+        /**
+         * Checks that every row refers to a dictionary entry and has a plate key head in range.
+         *
+         * @throws IOException if a row is corrupt.
+         */
+        private void checkRows() throws IOException {
+            for (int i = 0; i < rows; i++) {
+                check(index(i) < dictionarySize && head(i) < HEAD_BOUND);
+            }
+        }
+
+        /**
+         * Reads the delta-encoded timestamps and the camera ids of the rows into {@link #columns}.
+         *
+         * @throws IOException if a camera id is out of the {@code int} range.
+         */
+        private void readColumns() throws IOException {
+            long timestamp = 0;
+            for (int i = 0; i < rows; i++) {
+                timestamp += SightingFormat.unzigzag(SightingFormat.getVarLong(buffer));
+                columns[2 * i] = timestamp;
+            }
+            for (int i = 0; i < rows; i++) {
+                final long cameraId = SightingFormat.unzigzag(SightingFormat.getVarLong(buffer));
+                check(Integer.MIN_VALUE <= cameraId && cameraId <= Integer.MAX_VALUE);
+                columns[2 * i + 1] = cameraId;
+            }
+        }
+
+        /**
+         * Returns the dictionary index of a row.
+         *
+         * @param row the row.
+         * @return the dictionary index.
+         */
+        private int index(final int row) {
+            return indexWidth == Byte.BYTES
+                   ? Byte.toUnsignedInt(buffer.get(indexStart + row))
+                   : Short.toUnsignedInt(buffer.getShort(indexStart + row * Short.BYTES));
+        }
+
+        /**
+         * Returns the plate key head of a row.
+         *
+         * @param row the row.
+         * @return the plate key without its region slot, divided by {@link PlateKey#REGION_RADIX}.
+         */
+        private int head(final int row) {
+            return SightingFormat.getHead(buffer, headStart + row * SightingFormat.HEAD_WIDTH);
+        }
+
+        /**
+         * Fails if a decoded field is out of bounds.
+         *
+         * @param valid whether the field is in bounds.
+         * @throws IOException if the field is out of bounds.
+         */
+        private void check(final boolean valid) throws IOException {
+            if (!valid) {
+                throw new IOException(corruption());
+            }
+        }
+
+        /**
+         * Describes the corruption of the block.
+         *
+         * @return the error message.
+         */
+        private String corruption() {
+            return "Corrupt sighting file block " + number + " at "
+                   + footer.getLong(number * SightingFormat.FOOTER_ENTRY_SIZE) + ": " + path;
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package ru.tooloolooz.bumazhka.io;
+
+import ru.tooloolooz.bumazhka.Assert;
+import ru.tooloolooz.bumazhka.NotValidException;
+import ru.tooloolooz.bumazhka.plate.PlateKey;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Writer of columnar files of plate sightings.
+ * <p>
+ * A sighting is a {@link ru.tooloolooz.bumazhka.VehiclePlateValidator.PlateType#TYPE_1} plate seen at a timestamp
+ * by a camera.
+ * Sightings are buffered in blocks of primitive columns and every full block is encoded:
+ * <ul>
+ *   <li>plates as fixed-width {@link PlateKey} ordinals, with the region part of the key replaced by an index
+ *   into a per-block dictionary of delta-encoded regions</li>
+ *   <li>timestamps as zigzag varint deltas</li>
+ *   <li>camera ids as zigzag varints</li>
+ * </ul>
+ * The minimum and maximum plate keys and a bitmap of the regions of every block are stored in the file footer,
+ * so {@link SightingFileReader} can skip blocks by plate range and by region without reading them.
+ * <p>
+ * <b>Thread Safety:</b>
+ * Instances are not thread-safe.
+ *
+ * @see SightingFileReader
+ * @see PlateKey
+ */
+public final class SightingFileWriter implements Closeable {
+    /**
+     * Number of footer entries the footer buffer is allocated for, it doubles when it is full.
+     */
+    private static final int INITIAL_FOOTER_ENTRIES = 16;
+
+    /**
+     * Maximum number of footer entries, and so of blocks, since {@link SightingFileReader} maps the footer
+     * as one buffer.
+     */
+    private static final int MAX_FOOTER_ENTRIES = Integer.MAX_VALUE / SightingFormat.FOOTER_ENTRY_SIZE;
+
+    /**
+     * Channel of the file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Plate keys of the current block.
+     */
+    private final int[] keys = new int[SightingFormat.BLOCK_ROWS];
+
+    /**
+     * Timestamps of the current block.
+     */
+    private final long[] timestamps = new long[SightingFormat.BLOCK_ROWS];
+
+    /**
+     * Camera ids of the current block.
+     */
+    private final int[] cameras = new int[SightingFormat.BLOCK_ROWS];
+
+    /**
+     * Region dictionary index per region slot of the current block, {@code -1} for absent regions.
+     */
+    private final int[] dictionaryIndexes = new int[PlateKey.REGION_RADIX];
+
+    /**
+     * Bitmap of the region codes of the current block.
+     */
+    private final long[] regions = new long[SightingFormat.REGION_CODES / Long.SIZE];
+
+    /**
+     * Buffer of an encoded block.
+     */
+    private final ByteBuffer block = ByteBuffer.allocate(SightingFormat.MAX_BLOCK_SIZE);
+
+    /**
+     * Footer entries of written blocks.
+     */
+    private ByteBuffer footer = ByteBuffer.allocate(SightingFormat.FOOTER_ENTRY_SIZE * INITIAL_FOOTER_ENTRIES);
+
+    /**
+     * Number of rows of the current block.
+     */
+    private int rows;
+
+    /**
+     * Number of written blocks.
+     */
+    private int blockCount;
+
+    /**
+     * Position of the next block in the file.
+     */
+    private long position;
+
+    /**
+     * Whether the file is closed.
+     */
+    private boolean closed;
+
+    /**
+     * Creates or truncates a sighting file.
+     *
+     * @param file the file to write.
+     * @throws IllegalArgumentException if {@code file} is {@code null}.
+     * @throws IOException              if the file cannot be opened or written.
+     */
+    public SightingFileWriter(final Path file) throws IOException {
+        Assert.notNull(file, "File must be not null");
+
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        try {
+            final ByteBuffer header = ByteBuffer.allocate(SightingFormat.HEADER_SIZE);
+            header.putInt(SightingFormat.MAGIC).putInt(SightingFormat.VERSION).flip();
+            writeFully(header);
+        } catch (final IOException e) {
+            channel.close();
+            throw e;
+        }
+        this.position = SightingFormat.HEADER_SIZE;
+    }
+
+    /**
+     * Appends a sighting.
+     *
+     * @param plate     the plate.
+     * @param timestamp the timestamp, for example in epoch milliseconds.
+     * @param cameraId  the camera id.
+     * @throws IllegalArgumentException if {@code plate} is {@code null}.
+     * @throws NotValidException        if {@code plate} is invalid.
+     * @throws IOException              if the writer is closed or the file cannot be written.
+     */
+    public void write(final CharSequence plate, final long timestamp, final int cameraId) throws IOException {
+        ensureOpen();
+        final int key = PlateKey.encode(plate);
+        if (key == PlateKey.INVALID) {
+            throw new NotValidException("Invalid vehicle state registration plate: " + plate);
+        }
+        keys[rows] = key;
+        timestamps[rows] = timestamp;
+        cameras[rows] = cameraId;
+        rows++;
+        if (rows == SightingFormat.BLOCK_ROWS) {
+            flushBlock();
+        }
+    }
+
+    /**
+     * Writes the buffered sightings and the footer, then closes the file. Closing a closed writer has no effect.
+     *
+     * @throws IOException if the file cannot be written or closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try (channel) {
+            if (rows > 0) {
+                flushBlock();
+            }
+            final long footerOffset = position;
+            footer.flip();
+            writeFully(footer);
+            final ByteBuffer trailer = ByteBuffer.allocate(SightingFormat.TRAILER_SIZE);
+            trailer.putLong(footerOffset).putInt(blockCount).putInt(SightingFormat.MAGIC).flip();
+            writeFully(trailer);
+        }
+    }
+
+    /**
+     * Checks that the writer is not closed.
+     *
+     * @throws IOException if the writer is closed.
+     */
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Writer is closed");
+        }
+    }
+
+    /**
+     * Encodes and writes the current block and records its footer entry.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    private void flushBlock() throws IOException {
+        ensureFooterCapacity();
+        block.clear();
+        SightingFormat.putVarLong(block, rows);
+
+        Arrays.fill(dictionaryIndexes, -1);
+        int minKey = Integer.MAX_VALUE;
+        int maxKey = 0;
+        for (int i = 0; i < rows; i++) {
+            dictionaryIndexes[keys[i] % PlateKey.REGION_RADIX] = 0;
+            minKey = Math.min(minKey, keys[i]);
+            maxKey = Math.max(maxKey, keys[i]);
+        }
+        final int dictionarySize = dictionarySize();
+        writeDictionary(dictionarySize);
+
+        final int indexWidth = dictionarySize <= SightingFormat.BYTE_INDEX_LIMIT ? Byte.BYTES : Short.BYTES;
+        block.put((byte) indexWidth);
+        for (int i = 0; i < rows; i++) {
+            final int index = dictionaryIndexes[keys[i] % PlateKey.REGION_RADIX];
+            if (indexWidth == Byte.BYTES) {
+                block.put((byte) index);
+            } else {
+                block.putShort((short) index);
+            }
+        }
+        for (int i = 0; i < rows; i++) {
+            SightingFormat.putHead(block, keys[i] / PlateKey.REGION_RADIX);
+        }
+        long previous = 0;
+        for (int i = 0; i < rows; i++) {
+            SightingFormat.putVarLong(block, SightingFormat.zigzag(timestamps[i] - previous));
+            previous = timestamps[i];
+        }
+        for (int i = 0; i < rows; i++) {
+            SightingFormat.putVarLong(block, SightingFormat.zigzag(cameras[i]));
+        }
+
+        block.flip();
+        final int length = block.remaining();
+        writeFully(block);
+        appendFooterEntry(length, minKey, maxKey);
+        position += length;
+        blockCount++;
+        rows = 0;
+    }
+
+    /**
+     * Assigns dictionary indexes to the regions of the current block, writes the dictionary and fills
+     * the region bitmap.
+     *
+     * @param size the number of distinct regions of the current block.
+     */
+    private void writeDictionary(final int size) {
+        SightingFormat.putVarLong(block, size);
+        Arrays.fill(regions, 0);
+        int index = 0;
+        int previous = 0;
+        for (int slot = 0; slot < PlateKey.REGION_RADIX; slot++) {
+            if (dictionaryIndexes[slot] != -1) {
+                dictionaryIndexes[slot] = index;
+                index++;
+                SightingFormat.putVarLong(block, slot - previous);
+                previous = slot;
+                final int regionCode = PlateKey.regionCode(slot);
+                regions[regionCode / Long.SIZE] |= 1L << regionCode % Long.SIZE;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of distinct regions of the current block.
+     *
+     * @return the number of marked region slots.
+     */
+    private int dictionarySize() {
+        int size = 0;
+        for (final int index : dictionaryIndexes) {
+            if (index != -1) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Grows the footer buffer if it has no room for another entry, so a block is never written without one.
+     * <p>
+     * The capacity doubles, capped at {@value #MAX_FOOTER_ENTRIES} entries.
+     *
+     * @throws IOException if the footer already holds {@value #MAX_FOOTER_ENTRIES} entries.
+     */
+    private void ensureFooterCapacity() throws IOException {
+        if (footer.remaining() < SightingFormat.FOOTER_ENTRY_SIZE) {
+            final int entries = footer.position() / SightingFormat.FOOTER_ENTRY_SIZE;
+            if (entries >= MAX_FOOTER_ENTRIES) {
+                throw new IOException("Sighting file has " + entries + " blocks, the maximum is " + MAX_FOOTER_ENTRIES);
+            }
+            final int capacity = (int) Math.min(footer.capacity() * 2L,
+                    (long) MAX_FOOTER_ENTRIES * SightingFormat.FOOTER_ENTRY_SIZE);
+            final ByteBuffer grown = ByteBuffer.allocate(capacity);
+            footer.flip();
+            grown.put(footer);
+            footer = grown;
+        }
+    }
+
+    /**
+     * Records the footer entry of a block, the footer has room for it, see {@link #ensureFooterCapacity()}.
+     *
+     * @param length the encoded block length.
+     * @param minKey the minimum plate key of the block.
+     * @param maxKey the maximum plate key of the block.
+     */
+    private void appendFooterEntry(final int length, final int minKey, final int maxKey) {
+        footer.putLong(position).putInt(length).putInt(rows).putInt(minKey).putInt(maxKey);
+        for (final long word : regions) {
+            footer.putLong(word);
+        }
+    }
+
+    /**
+     * Writes all remaining bytes of a buffer.
+     *
+     * @param buffer the buffer to write.
+     * @throws IOException if the file cannot be written.
+     */
+    private void writeFully(final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
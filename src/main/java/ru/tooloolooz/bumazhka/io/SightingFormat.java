@@ -0,0 +1,214 @@
+package ru.tooloolooz.bumazhka.io;
+
+import ru.tooloolooz.bumazhka.Assert;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Constants and primitive codecs of the columnar sighting file format.
+ * <p>
+ * <b>File layout:</b>
+ * <pre>
+ * header:  int magic, int version
+ * blocks:  block*
+ * footer:  (long offset, int length, int rows, int minKey, int maxKey, long[16] regions)* per block
+ * trailer: long footerOffset, int blockCount, int magic
+ * </pre>
+ * <b>Block layout:</b>
+ * <pre>
+ * varint rows
+ * varint dictionarySize, varint regionSlot delta * dictionarySize
+ * byte indexWidth, (indexWidth bytes region dictionary index) * rows
+ * (3 bytes plate key divided by region radix) * rows
+ * (zigzag varlong timestamp delta) * rows
+ * (zigzag varint camera id) * rows
+ * </pre>
+ * The {@code regions} bitmap of a footer entry has bit {@code regionCode} set for every region present in
+ * the block. All fixed-width values are big-endian.
+ */
+final class SightingFormat {
+    /**
+     * Magic number of sighting files, {@code BMZS} in ASCII.
+     */
+    /* default */ static final int MAGIC = 0x424D5A53;
+
+    /**
+     * Version of the format.
+     */
+    /* default */ static final int VERSION = 1;
+
+    /**
+     * Size of the file header in bytes.
+     */
+    /* default */ static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+    /**
+     * Number of region codes covered by the region bitmap of a footer entry.
+     */
+    /* default */ static final int REGION_CODES = 1024;
+
+    /**
+     * Offset of the block length in a footer entry.
+     */
+    /* default */ static final int LENGTH_OFFSET = Long.BYTES;
+
+    /**
+     * Offset of the number of rows in a footer entry.
+     */
+    /* default */ static final int ROWS_OFFSET = LENGTH_OFFSET + Integer.BYTES;
+
+    /**
+     * Offset of the minimum plate key in a footer entry.
+     */
+    /* default */ static final int MIN_KEY_OFFSET = ROWS_OFFSET + Integer.BYTES;
+
+    /**
+     * Offset of the maximum plate key in a footer entry.
+     */
+    /* default */ static final int MAX_KEY_OFFSET = MIN_KEY_OFFSET + Integer.BYTES;
+
+    /**
+     * Offset of the region bitmap in a footer entry.
+     */
+    /* default */ static final int REGIONS_OFFSET = MAX_KEY_OFFSET + Integer.BYTES;
+
+    /**
+     * Size of a footer entry in bytes.
+     */
+    /* default */ static final int FOOTER_ENTRY_SIZE = REGIONS_OFFSET + REGION_CODES / Byte.SIZE;
+
+    /**
+     * Size of the trailer in bytes.
+     */
+    /* default */ static final int TRAILER_SIZE = Long.BYTES + 2 * Integer.BYTES;
+
+    /**
+     * Maximum number of rows of a block.
+     */
+    /* default */ static final int BLOCK_ROWS = 4096;
+
+    /**
+     * Width of the plate head column in bytes.
+     */
+    /* default */ static final int HEAD_WIDTH = 3;
+
+    /**
+     * Maximum number of region dictionary entries addressed by one-byte indexes.
+     */
+    /* default */ static final int BYTE_INDEX_LIMIT = 256;
+
+    /**
+     * Maximum size of an encoded block in bytes.
+     */
+    /* default */ static final int MAX_BLOCK_SIZE = 64 * 1024 + BLOCK_ROWS * (Short.BYTES + HEAD_WIDTH + 10 + 5);
+
+    /**
+     * Mask of an unsigned byte.
+     */
+    private static final int BYTE_MASK = 0xFF;
+
+    /**
+     * Number of payload bits of a varint byte.
+     */
+    private static final int VARINT_BITS = 7;
+
+    /**
+     * Mask of the payload bits of a varint byte.
+     */
+    private static final int VARINT_PAYLOAD = 0x7F;
+
+    /**
+     * Continuation bit of a varint byte.
+     */
+    private static final int VARINT_CONTINUATION = 0x80;
+
+    /**
+     * Number of bits of a byte.
+     */
+    private static final int BYTE_BITS = 8;
+
+    /**
+     * This class is a utility class and should not be instantiated.
+     *
+     * @throws UnsupportedOperationException always.
+     */
+    private SightingFormat() {
+        Assert.unsupported("Utility class should not be instantiated");
+    }
+
+    /**
+     * Writes an unsigned varint.
+     *
+     * @param buffer the destination.
+     * @param value  the value, treated as unsigned.
+     */
+    /* default */ static void putVarLong(final ByteBuffer buffer, final long value) {
+        long rest = value;
+        while ((rest & ~VARINT_PAYLOAD) != 0) {
+            buffer.put((byte) (rest & VARINT_PAYLOAD | VARINT_CONTINUATION));
+            rest >>>= VARINT_BITS;
+        }
+        buffer.put((byte) rest);
+    }
+
+    /**
+     * Reads an unsigned varint.
+     *
+     * @param buffer the source.
+     * @return the value.
+     */
+    /* default */ static long getVarLong(final ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        int next;
+        do {
+            next = buffer.get() & BYTE_MASK;
+            value |= (long) (next & VARINT_PAYLOAD) << shift;
+            shift += VARINT_BITS;
+        } while ((next & VARINT_CONTINUATION) != 0);
+        return value;
+    }
+
+    /**
+     * Maps a signed value to an unsigned one with small absolute values mapped to small results.
+     *
+     * @param value the signed value.
+     * @return the zigzag encoded value.
+     */
+    /* default */ static long zigzag(final long value) {
+        return value << 1 ^ value >> (Long.SIZE - 1);
+    }
+
+    /**
+     * Reverses {@link #zigzag(long)}.
+     *
+     * @param value the zigzag encoded value.
+     * @return the signed value.
+     */
+    /* default */ static long unzigzag(final long value) {
+        return value >>> 1 ^ -(value & 1);
+    }
+
+    /**
+     * Writes a 3-byte unsigned value.
+     *
+     * @param buffer the destination.
+     * @param value  the value in range {@code [0, 2^24)}.
+     */
+    /* default */ static void putHead(final ByteBuffer buffer, final int value) {
+        buffer.put((byte) (value >>> (2 * BYTE_BITS)));
+        buffer.putShort((short) value);
+    }
+
+    /**
+     * Reads a 3-byte unsigned value at an absolute position.
+     *
+     * @param buffer   the source.
+     * @param position the position of the value.
+     * @return the value.
+     */
+    /* default */ static int getHead(final ByteBuffer buffer, final int position) {
+        return (buffer.get(position) & BYTE_MASK) << (2 * BYTE_BITS)
+               | buffer.getShort(position + 1) & Character.MAX_VALUE;
+    }
+}
@@ -0,0 +1,7 @@
+/**
+ * Storage formats and streams of vehicle registration plates.
+ */
+@NullMarked
+package ru.tooloolooz.bumazhka.io;
+
+import org.jspecify.annotations.NullMarked;
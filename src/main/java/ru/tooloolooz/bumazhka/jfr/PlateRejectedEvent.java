@@ -0,0 +1,127 @@
+package ru.tooloolooz.bumazhka.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import ru.tooloolooz.bumazhka.VehiclePlateValidator;
+import ru.tooloolooz.bumazhka.plate.Type1PlateValidator;
+
+import java.nio.CharBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Flight Recorder event of a plate rejected by {@link VehiclePlateValidator}.
+ * <p>
+ * Reported through {@link PlateRejections}. The event is disabled by default, and while it is enabled only every
+ * {@value #SAMPLE_PERIOD}th rejection is committed, so a feed of bad plates cannot flood a recording. Enable it
+ * to find the source of bad feeds, the rate of these events follows the rate of rejections. The plate itself is
+ * not recorded, since it is personal data, only its length and the
+ * {@link ru.tooloolooz.bumazhka.plate.RejectionReason} of the sampled plate.
+ */
+@Name("ru.tooloolooz.bumazhka.PlateRejected")
+@Label("Plate Rejected")
+@Category("Bumazhka")
+@Description("Sample of vehicle registration plates rejected by single validation calls")
+@Enabled(false)
+@StackTrace(false)
+public final class PlateRejectedEvent extends Event {
+    /**
+     * Number of rejections per committed event.
+     */
+    /* default */ static final int SAMPLE_PERIOD = 100;
+
+    /**
+     * Number of rejections seen while the event was enabled.
+     */
+    private static final AtomicLong REJECTIONS = new AtomicLong();
+
+    /**
+     * Type the plate was validated against.
+     */
+    @Label("Plate Type")
+    private String plateType = "";
+
+    /**
+     * Reason of the rejection.
+     */
+    @Label("Reason")
+    private String reason = "";
+
+    /**
+     * Length of the rejected plate.
+     */
+    @Label("Length")
+    private int length;
+
+    /**
+     * Number of rejected plates the event stands for.
+     */
+    @Label("Sampled Rejections")
+    private int sampled;
+
+    /**
+     * Creates an event, use {@link #emit(String, VehiclePlateValidator.PlateType)}.
+     */
+    private PlateRejectedEvent() {
+        super();
+    }
+
+    /**
+     * Counts a rejected plate and commits an event for every {@value #SAMPLE_PERIOD}th one if the event is enabled.
+     *
+     * @param plate the rejected plate.
+     * @param type  the type the plate was validated against.
+     */
+    /* default */ static void emit(final String plate, final VehiclePlateValidator.PlateType type) {
+        final PlateRejectedEvent event = new PlateRejectedEvent();
+        if (event.isEnabled() && isSampled()) {
+            event.record(plate, type);
+        }
+    }
+
+    /**
+     * Counts a rejected plate stored in a character array and commits an event for every {@value #SAMPLE_PERIOD}th
+     * one if the event is enabled.
+     * <p>
+     * The array is wrapped into a {@link CharBuffer} only for committed events.
+     *
+     * @param chars  the array containing the rejected plate.
+     * @param offset the index of the first plate character.
+     * @param length the number of plate characters.
+     * @param type   the type the plate was validated against.
+     */
+    /* default */ static void emit(final char[] chars, final int offset, final int length,
+                                   final VehiclePlateValidator.PlateType type) {
+        final PlateRejectedEvent event = new PlateRejectedEvent();
+        if (event.isEnabled() && isSampled()) {
+            event.record(CharBuffer.wrap(chars, offset, length), type);
+        }
+    }
+
+    /**
+     * Fills and commits the event.
+     *
+     * @param plate the rejected plate.
+     * @param type  the type the plate was validated against.
+     */
+    private void record(final CharSequence plate, final VehiclePlateValidator.PlateType type) {
+        plateType = type.name();
+        reason = Type1PlateValidator.INSTANCE.rejectionReason(plate).name();
+        length = plate.length();
+        sampled = SAMPLE_PERIOD;
+        commit();
+    }
+
+    /**
+     * Counts a rejection seen while the event is enabled.
+     *
+     * @return {@code true} if the rejection is the {@value #SAMPLE_PERIOD}th since the last sampled one.
+     */
+    private static boolean isSampled() {
+        return REJECTIONS.incrementAndGet() % SAMPLE_PERIOD == 0;
+    }
+}
@@ -0,0 +1,55 @@
+package ru.tooloolooz.bumazhka.jfr;
+
+import ru.tooloolooz.bumazhka.Assert;
+import ru.tooloolooz.bumazhka.VehiclePlateValidator;
+
+/**
+ * Reporter of plates rejected by {@link VehiclePlateValidator}.
+ * <p>
+ * The core validation API must keep working on runtimes without the {@code jdk.jfr} module, for example
+ * jlinked images. This class refers to no Flight Recorder type, and {@link PlateRejectedEvent} is loaded only
+ * if the module is present, so a missing module disables the event instead of failing validation.
+ */
+public final class PlateRejections {
+    /**
+     * Whether the runtime contains the {@code jdk.jfr} module.
+     */
+    private static final boolean RECORDER_PRESENT = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    /**
+     * This class is a utility class and should not be instantiated.
+     *
+     * @throws UnsupportedOperationException always.
+     */
+    private PlateRejections() {
+        Assert.unsupported("Utility class should not be instantiated");
+    }
+
+    /**
+     * Reports a rejected plate as a {@link PlateRejectedEvent} if Flight Recorder is present.
+     *
+     * @param plate the rejected plate.
+     * @param type  the type the plate was validated against.
+     */
+    public static void rejected(final String plate, final VehiclePlateValidator.PlateType type) {
+        if (RECORDER_PRESENT) {
+            PlateRejectedEvent.emit(plate, type);
+        }
+    }
+
+    /**
+     * Reports a rejected plate stored in a character array as a {@link PlateRejectedEvent} if Flight Recorder
+     * is present.
+     *
+     * @param chars  the array containing the rejected plate.
+     * @param offset the index of the first plate character.
+     * @param length the number of plate characters.
+     * @param type   the type the plate was validated against.
+     */
+    public static void rejected(final char[] chars, final int offset, final int length,
+                                final VehiclePlateValidator.PlateType type) {
+        if (RECORDER_PRESENT) {
+            PlateRejectedEvent.emit(chars, offset, length, type);
+        }
+    }
+}
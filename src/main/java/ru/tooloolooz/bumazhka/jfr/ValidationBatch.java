@@ -0,0 +1,26 @@
+package ru.tooloolooz.bumazhka.jfr;
+
+/**
+ * Trace of a bulk validation of plates, started by {@link ValidationBatches#begin}.
+ * <p>
+ * This interface refers to no Flight Recorder type, so bulk APIs can hold a trace on runtimes without the
+ * {@code jdk.jfr} module.
+ */
+public interface ValidationBatch {
+    /**
+     * Returns whether the batch is recorded, so rejected plates should be classified by
+     * {@link ru.tooloolooz.bumazhka.plate.RejectionReason}.
+     *
+     * @return {@code true} if the batch is recorded.
+     */
+    boolean isRecorded();
+
+    /**
+     * Finishes the batch and records it if it is recorded.
+     *
+     * @param size             the number of validated plates.
+     * @param rejectedByReason the number of rejected plates indexed by
+     *                         {@link ru.tooloolooz.bumazhka.plate.RejectionReason#ordinal()}.
+     */
+    void finish(long size, long... rejectedByReason);
+}
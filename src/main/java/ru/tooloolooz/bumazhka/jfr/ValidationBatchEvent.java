@@ -0,0 +1,138 @@
+package ru.tooloolooz.bumazhka.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import ru.tooloolooz.bumazhka.VehiclePlateValidator;
+import ru.tooloolooz.bumazhka.plate.RejectionReason;
+
+/**
+ * Flight Recorder event of a bulk validation of plates.
+ * <p>
+ * Reported by bulk and batch APIs through {@link ValidationBatches}, records the batch size, the duration and
+ * the number of rejected plates per {@link RejectionReason}. The event is enabled by default with a zero
+ * threshold, raise the {@code threshold} setting to record only slow batches.
+ */
+@Name("ru.tooloolooz.bumazhka.ValidationBatch")
+@Label("Plate Validation Batch")
+@Category("Bumazhka")
+@Description("Bulk validation of vehicle registration plates")
+@StackTrace(false)
+@Threshold("0 ms")
+@SuppressWarnings("PMD.SingularField")
+public final class ValidationBatchEvent extends Event implements ValidationBatch {
+    /**
+     * Name of the API that validated the batch.
+     */
+    @Label("Source")
+    private String source = "";
+
+    /**
+     * Type of validated plates.
+     */
+    @Label("Plate Type")
+    private String plateType = "";
+
+    /**
+     * Number of validated plates.
+     */
+    @Label("Batch Size")
+    private long batchSize;
+
+    /**
+     * Number of rejected plates.
+     */
+    @Label("Rejected")
+    private long rejected;
+
+    /**
+     * Number of plates rejected by {@link RejectionReason#LENGTH}.
+     */
+    @Label("Rejected By Length")
+    private long rejectedLength;
+
+    /**
+     * Number of plates rejected by {@link RejectionReason#SERIES}.
+     */
+    @Label("Rejected By Series")
+    private long rejectedSeries;
+
+    /**
+     * Number of plates rejected by {@link RejectionReason#NUMBER}.
+     */
+    @Label("Rejected By Number")
+    private long rejectedNumber;
+
+    /**
+     * Number of plates rejected by {@link RejectionReason#REGION}.
+     */
+    @Label("Rejected By Region")
+    private long rejectedRegion;
+
+    /**
+     * Whether {@link #begin(String, VehiclePlateValidator.PlateType)} started the event, not recorded.
+     * <p>
+     * An event created while disabled has no source and no start time, so it must not be committed even if a
+     * recording starts before it is finished.
+     */
+    private transient boolean started;
+
+    /**
+     * Creates an event, use {@link #begin(String, VehiclePlateValidator.PlateType)}.
+     */
+    private ValidationBatchEvent() {
+        super();
+    }
+
+    /**
+     * Creates and starts timing an event if it is enabled.
+     *
+     * @param source the name of the API validating the batch.
+     * @param type   the type of validated plates.
+     * @return the event.
+     */
+    /* default */ static ValidationBatchEvent begin(final String source, final VehiclePlateValidator.PlateType type) {
+        final ValidationBatchEvent event = new ValidationBatchEvent();
+        if (event.isEnabled()) {
+            event.source = source;
+            event.plateType = type.name();
+            event.begin();
+            event.started = true;
+        }
+        return event;
+    }
+
+    /**
+     * Returns whether {@link #begin(String, VehiclePlateValidator.PlateType)} started the event.
+     *
+     * @return {@code true} if the event was enabled when the batch began.
+     */
+    @Override
+    public boolean isRecorded() {
+        return started;
+    }
+
+    /**
+     * Stops timing the event and commits it if it was started, is enabled and exceeds the threshold.
+     *
+     * @param size             the number of validated plates.
+     * @param rejectedByReason the number of rejected plates indexed by {@link RejectionReason#ordinal()}.
+     */
+    @Override
+    public void finish(final long size, final long... rejectedByReason) {
+        end();
+        if (started && shouldCommit()) {
+            batchSize = size;
+            rejectedLength = rejectedByReason[RejectionReason.LENGTH.ordinal()];
+            rejectedSeries = rejectedByReason[RejectionReason.SERIES.ordinal()];
+            rejectedNumber = rejectedByReason[RejectionReason.NUMBER.ordinal()];
+            rejectedRegion = rejectedByReason[RejectionReason.REGION.ordinal()];
+            rejected = rejectedLength + rejectedSeries + rejectedNumber + rejectedRegion;
+            commit();
+        }
+    }
+}
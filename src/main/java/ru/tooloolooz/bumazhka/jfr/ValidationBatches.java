@@ -0,0 +1,63 @@
+package ru.tooloolooz.bumazhka.jfr;
+
+import ru.tooloolooz.bumazhka.Assert;
+import ru.tooloolooz.bumazhka.VehiclePlateValidator;
+
+/**
+ * Reporter of bulk validations of plates.
+ * <p>
+ * Like {@link PlateRejections}, this class refers to no Flight Recorder type, and {@link ValidationBatchEvent}
+ * is loaded only if the {@code jdk.jfr} module is present, so bulk APIs keep working on runtimes without it.
+ * <p>
+ * Usage:
+ * <pre>{@code
+ * ValidationBatch batch = ValidationBatches.begin("source", PlateType.TYPE_1);
+ * long[] rejected = new long[RejectionReason.values().length];
+ * ... validate plates, counting rejections by reason ordinal if batch.isRecorded() ...
+ * batch.finish(size, rejected);
+ * }</pre>
+ */
+public final class ValidationBatches {
+    /**
+     * Batch that is never recorded.
+     */
+    public static final ValidationBatch UNRECORDED = new ValidationBatch() {
+        @Override
+        public boolean isRecorded() {
+            return false;
+        }
+
+        @Override
+        public void finish(final long size, final long... rejectedByReason) {
+            // nothing to record
+        }
+    };
+
+    /**
+     * Whether the runtime contains the {@code jdk.jfr} module.
+     */
+    private static final boolean RECORDER_PRESENT = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    /**
+     * This class is a utility class and should not be instantiated.
+     *
+     * @throws UnsupportedOperationException always.
+     */
+    private ValidationBatches() {
+        Assert.unsupported("Utility class should not be instantiated");
+    }
+
+    /**
+     * Begins a batch, reported as a {@link ValidationBatchEvent} if Flight Recorder is present.
+     *
+     * @param source the name of the API validating the batch.
+     * @param type   the type of validated plates.
+     * @return the started batch, {@link #UNRECORDED} if Flight Recorder is absent.
+     */
+    public static ValidationBatch begin(final String source, final VehiclePlateValidator.PlateType type) {
+        if (RECORDER_PRESENT) {
+            return ValidationBatchEvent.begin(source, type);
+        }
+        return UNRECORDED;
+    }
+}
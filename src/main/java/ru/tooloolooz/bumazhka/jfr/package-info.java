@@ -0,0 +1,10 @@
+/**
+ * Java Flight Recorder events of plate validation.
+ * <p>
+ * Events are named {@code ru.tooloolooz.bumazhka.*} and are listed under the {@code Bumazhka} category.
+ * Disabled events cost only an enabled check.
+ */
+@NullMarked
+package ru.tooloolooz.bumazhka.jfr;
+
+import org.jspecify.annotations.NullMarked;
@@ -0,0 +1,83 @@
+package ru.tooloolooz.bumazhka.plate;
+
+import ru.tooloolooz.bumazhka.Assert;
+
+/**
+ * Character classes of Type 1 vehicle registration plates.
+ * <p>
+ * Exposes the checks used by {@link Type1PlateValidator} and {@link PlateKey} to code scanning plates
+ * character by character, such as redaction of plates in free text, so it classifies characters exactly
+ * like the validator does.
+ *
+ * @see Type1PlateValidator
+ * @see PlateKey
+ */
+public final class PlateCharacters {
+    /**
+     * Allowed Cyrillic letters for series positions in ascending order.
+     * <p>
+     * The position of a letter in this string is its index returned by {@link #letterIndex(char)}.
+     */
+    /* default */ static final String SERIES_LETTERS = "АВЕКМНОРСТУХ";
+
+    /**
+     * Bitmask of {@link #SERIES_LETTERS}, bit {@code n} is set if the character {@code 'А' + n} is allowed.
+     * <p>
+     * The mask is a compile-time constant, so letter lookups cost no class initialization.
+     */
+    private static final int SERIES_LETTER_MASK = 0x2F_7425;
+
+    /**
+     * The smallest allowed series letter.
+     */
+    private static final char LETTER_INDEX_BASE = 'А';
+
+    /**
+     * This class is a utility class and should not be instantiated.
+     *
+     * @throws UnsupportedOperationException always.
+     */
+    private PlateCharacters() {
+        Assert.unsupported("Utility class should not be instantiated");
+    }
+
+    /**
+     * Checks if a character is an allowed Cyrillic letter for vehicle plate series.
+     * <p>
+     * <b>Allowed Letters (12 total):</b> 'А', 'В', 'Е', 'К', 'М', 'Н', 'О', 'Р', 'С', 'Т', 'У', 'Х'
+     *
+     * @param character the character to check.
+     * @return {@code true} if the character is one of the 12 allowed Cyrillic letters, {@code false} otherwise.
+     */
+    public static boolean isAllowedLetter(final char character) {
+        return letterIndex(character) != -1;
+    }
+
+    /**
+     * Returns the index of an allowed series letter in {@link #SERIES_LETTERS}.
+     * <p>
+     * Indexes preserve the order of letters, so they can be used to build order-preserving plate keys.
+     *
+     * @param character the character to look up.
+     * @return the index of the letter in range {@code 0..11}, or {@code -1} if the letter is not allowed.
+     */
+    public static int letterIndex(final char character) {
+        final int offset = character - LETTER_INDEX_BASE;
+        if (offset < 0 || Integer.SIZE <= offset) {
+            return -1;
+        }
+        final int bit = 1 << offset;
+        // The index of an allowed letter is the number of allowed letters preceding it.
+        return (SERIES_LETTER_MASK & bit) == 0 ? -1 : Integer.bitCount(SERIES_LETTER_MASK & (bit - 1));
+    }
+
+    /**
+     * Checks if a character is a decimal digit (0-9).
+     *
+     * @param character the character to check.
+     * @return {@code true} if the character is a basic digit (0-9), {@code false} otherwise.
+     */
+    public static boolean isDigit(final char character) {
+        return '0' <= character && character <= '9';
+    }
+}
@@ -0,0 +1,316 @@
+package ru.tooloolooz.bumazhka.plate;
+
+import ru.tooloolooz.bumazhka.Assert;
+import ru.tooloolooz.bumazhka.VehicleRegionCodeValidator;
+
+import java.util.Objects;
+
+/**
+ * Fixed-width integer keys of Type 1 vehicle registration plates.
+ * <p>
+ * Every valid {@link ru.tooloolooz.bumazhka.VehiclePlateValidator.PlateType#TYPE_1} plate is mapped to a distinct
+ * non-negative {@code int} in range {@code [0, }{@link #BOUND}{@code )}. The key is a mixed-radix number built from
+ * the plate characters in their natural order:
+ * <ul>
+ *   <li>first series letter (12 values)</li>
+ *   <li>registration number (1000 values)</li>
+ *   <li>second and third series letters (12 values each)</li>
+ *   <li>region code (1100 values, 2-digit codes ordered before 3-digit codes with the same prefix)</li>
+ * </ul>
+ * Comparing keys gives the same order as {@link String#compareTo(String)} of the plates, so keys can be
+ * sorted, range-scanned and hashed instead of strings.
+ * <p>
+ * Encoding validates the plate with the same {@link PlateCharacters} classes as {@link Type1PlateValidator}
+ * and returns {@link #INVALID} for invalid plates.
+ *
+ * @see Type1PlateValidator
+ */
+public final class PlateKey {
+    /**
+     * Value returned by the {@code encode} methods for invalid plates.
+     */
+    public static final int INVALID = -1;
+
+    /**
+     * Number of allowed series letters.
+     */
+    public static final int LETTER_RADIX = 12;
+
+    /**
+     * Number of registration numbers.
+     */
+    public static final int NUMBER_RADIX = 1000;
+
+    /**
+     * Number of region code slots.
+     * <p>
+     * Each 2-digit prefix of a region code owns eleven slots: one for the 2-digit code
+     * and ten for 3-digit codes.
+     */
+    public static final int REGION_RADIX = 1100;
+
+    /**
+     * Exclusive upper bound of plate keys.
+     */
+    public static final int BOUND = LETTER_RADIX * NUMBER_RADIX * LETTER_RADIX * LETTER_RADIX * REGION_RADIX;
+
+    /**
+     * Maximum length of a Type 1 plate.
+     */
+    public static final int MAX_LENGTH = 9;
+
+    /**
+     * Minimum length of a Type 1 plate.
+     */
+    private static final int MIN_LENGTH = 8;
+
+    /**
+     * Length of the plate part preceding the region code.
+     */
+    private static final int HEAD_LENGTH = 6;
+
+    /**
+     * Number of region code slots per 2-digit prefix.
+     */
+    private static final int REGION_PREFIX_SLOTS = 11;
+
+    /**
+     * Radix of plate digits.
+     */
+    private static final int DIGIT_RADIX = 10;
+
+    /**
+     * Number of series letters.
+     */
+    private static final int SERIES_LENGTH = 3;
+
+    /**
+     * Position of the third digit of the registration number.
+     */
+    private static final int THIRD_DIGIT = 3;
+
+    /**
+     * Position of the second letter of the series.
+     */
+    private static final int SECOND_LETTER = 4;
+
+    /**
+     * Position of the third letter of the series.
+     */
+    private static final int THIRD_LETTER = 5;
+
+    /**
+     * This class is a utility class and should not be instantiated.
+     *
+     * @throws UnsupportedOperationException always.
+     */
+    private PlateKey() {
+        Assert.unsupported("Utility class should not be instantiated");
+    }
+
+    /**
+     * Validates a plate and returns its key.
+     *
+     * @param plate the plate to encode.
+     * @return the key of the plate, or {@link #INVALID} if the plate is invalid.
+     * @throws IllegalArgumentException if {@code plate} is {@code null}.
+     */
+    public static int encode(final CharSequence plate) {
+        Assert.notNull(plate, "Plate must be not null");
+
+        final int length = plate.length();
+        if (length < MIN_LENGTH || MAX_LENGTH < length) {
+            return INVALID;
+        }
+        final int head = encodeHead(plate.charAt(0), plate.charAt(1), plate.charAt(2),
+                plate.charAt(THIRD_DIGIT), plate.charAt(SECOND_LETTER), plate.charAt(THIRD_LETTER));
+        if (head == INVALID) {
+            return INVALID;
+        }
+        return combine(head, VehicleRegionCodeValidator.parse(plate, HEAD_LENGTH, length), length);
+    }
+
+    /**
+     * Validates a plate stored in a character array and returns its key.
+     * <p>
+     * This is the array variant of {@link #encode(CharSequence)}, it does not allocate.
+     *
+     * @param chars  the array containing the plate.
+     * @param offset the index of the first plate character.
+     * @param length the number of plate characters.
+     * @return the key of the plate, or {@link #INVALID} if the plate is invalid.
+     * @throws IllegalArgumentException  if {@code chars} is {@code null}.
+     * @throws IndexOutOfBoundsException if the range is out of the array bounds.
+     */
+    public static int encode(final char[] chars, final int offset, final int length) {
+        Assert.notNull(chars, "Plate must be not null");
+        Objects.checkFromIndexSize(offset, length, chars.length);
+
+        if (length < MIN_LENGTH || MAX_LENGTH < length) {
+            return INVALID;
+        }
+        final int head = encodeHead(chars[offset], chars[offset + 1], chars[offset + 2],
+                chars[offset + THIRD_DIGIT], chars[offset + SECOND_LETTER], chars[offset + THIRD_LETTER]);
+        if (head == INVALID) {
+            return INVALID;
+        }
+        return combine(head,
+                VehicleRegionCodeValidator.parse(chars, offset + HEAD_LENGTH, offset + length), length);
+    }
+
+    /**
+     * Returns the plate of a key.
+     *
+     * @param key the key returned by one of the {@code encode} methods.
+     * @return the plate.
+     * @throws IllegalArgumentException if {@code key} is not in range {@code [0, BOUND)}.
+     */
+    public static String decode(final int key) {
+        final char[] plate = new char[MAX_LENGTH];
+        final int length = decode(key, plate, 0);
+        return new String(plate, 0, length);
+    }
+
+    /**
+     * Writes the plate of a key to a character array.
+     *
+     * @param key    the key returned by one of the {@code encode} methods.
+     * @param dst    the destination array, must have room for {@link #MAX_LENGTH} characters.
+     * @param offset the index of the first plate character in {@code dst}.
+     * @return the number of written characters, 8 or 9.
+     * @throws IllegalArgumentException  if {@code key} is not in range {@code [0, BOUND)} or {@code dst} is
+     *                                   {@code null}.
+     * @throws IndexOutOfBoundsException if the plate does not fit into {@code dst}.
+     */
+    public static int decode(final int key, final char[] dst, final int offset) {
+        checkKey(key);
+        Assert.notNull(dst, "Destination must be not null");
+
+        final int slot = key % REGION_RADIX;
+        final int prefix = slot / REGION_PREFIX_SLOTS;
+        final int suffix = slot % REGION_PREFIX_SLOTS;
+        final int length = suffix == 0 ? MIN_LENGTH : MAX_LENGTH;
+        Objects.checkFromIndexSize(offset, length, dst.length);
+
+        final int number = number(key);
+        dst[offset] = letter(key, 0);
+        dst[offset + 1] = Character.forDigit(number / (DIGIT_RADIX * DIGIT_RADIX), DIGIT_RADIX);
+        dst[offset + 2] = Character.forDigit(number / DIGIT_RADIX % DIGIT_RADIX, DIGIT_RADIX);
+        dst[offset + THIRD_DIGIT] = Character.forDigit(number % DIGIT_RADIX, DIGIT_RADIX);
+        dst[offset + SECOND_LETTER] = letter(key, 1);
+        dst[offset + THIRD_LETTER] = letter(key, 2);
+        dst[offset + HEAD_LENGTH] = Character.forDigit(prefix / DIGIT_RADIX, DIGIT_RADIX);
+        dst[offset + HEAD_LENGTH + 1] = Character.forDigit(prefix % DIGIT_RADIX, DIGIT_RADIX);
+        if (suffix != 0) {
+            dst[offset + HEAD_LENGTH + 2] = Character.forDigit(suffix - 1, DIGIT_RADIX);
+        }
+        return length;
+    }
+
+    /**
+     * Returns the numeric region code of a key, as returned by
+     * {@link VehicleRegionCodeValidator#parse(CharSequence, int, int)}.
+     *
+     * @param key the key returned by one of the {@code encode} methods.
+     * @return the numeric region code.
+     * @throws IllegalArgumentException if {@code key} is not in range {@code [0, BOUND)}.
+     */
+    public static int regionCode(final int key) {
+        checkKey(key);
+
+        final int slot = key % REGION_RADIX;
+        final int prefix = slot / REGION_PREFIX_SLOTS;
+        final int suffix = slot % REGION_PREFIX_SLOTS;
+        return suffix == 0 ? prefix : prefix * DIGIT_RADIX + suffix - 1;
+    }
+
+    /**
+     * Returns the registration number of a key.
+     *
+     * @param key the key returned by one of the {@code encode} methods.
+     * @return the registration number in range {@code 0..999}.
+     * @throws IllegalArgumentException if {@code key} is not in range {@code [0, BOUND)}.
+     */
+    public static int number(final int key) {
+        checkKey(key);
+
+        return key / (REGION_RADIX * LETTER_RADIX * LETTER_RADIX) % NUMBER_RADIX;
+    }
+
+    /**
+     * Returns a series letter of a key.
+     *
+     * @param key   the key returned by one of the {@code encode} methods.
+     * @param index the index of the series letter, {@code 0..2}.
+     * @return the series letter.
+     * @throws IllegalArgumentException  if {@code key} is not in range {@code [0, BOUND)}.
+     * @throws IndexOutOfBoundsException if {@code index} is not in range {@code 0..2}.
+     */
+    public static char letter(final int key, final int index) {
+        checkKey(key);
+
+        final int head = key / REGION_RADIX;
+        final int letterIndex = switch (Objects.checkIndex(index, SERIES_LENGTH)) {
+            case 0 -> head / (LETTER_RADIX * LETTER_RADIX * NUMBER_RADIX);
+            case 1 -> head / LETTER_RADIX % LETTER_RADIX;
+            default -> head % LETTER_RADIX;
+        };
+        return PlateCharacters.SERIES_LETTERS.charAt(letterIndex);
+    }
+
+    /**
+     * Encodes the plate part preceding the region code.
+     *
+     * @param letter1 the first series letter.
+     * @param digit1  the first digit of the registration number.
+     * @param digit2  the second digit of the registration number.
+     * @param digit3  the third digit of the registration number.
+     * @param letter2 the second series letter.
+     * @param letter3 the third series letter.
+     * @return the encoded head, or {@link #INVALID} if any character is not allowed.
+     */
+    private static int encodeHead(final char letter1, final char digit1, final char digit2, final char digit3,
+                                  final char letter2, final char letter3) {
+        final int index1 = PlateCharacters.letterIndex(letter1);
+        final int index2 = PlateCharacters.letterIndex(letter2);
+        final int index3 = PlateCharacters.letterIndex(letter3);
+        if (index1 == -1 || index2 == -1 || index3 == -1
+            || !PlateCharacters.isDigit(digit1)
+            || !PlateCharacters.isDigit(digit2)
+            || !PlateCharacters.isDigit(digit3)) {
+            return INVALID;
+        }
+        final int number = ((digit1 - '0') * DIGIT_RADIX + digit2 - '0') * DIGIT_RADIX + digit3 - '0';
+        return ((index1 * NUMBER_RADIX + number) * LETTER_RADIX + index2) * LETTER_RADIX + index3;
+    }
+
+    /**
+     * Combines an encoded head with a region code.
+     *
+     * @param head        the encoded head.
+     * @param regionCode  the numeric region code or {@link VehicleRegionCodeValidator#INVALID_CODE}.
+     * @param plateLength the length of the plate.
+     * @return the key, or {@link #INVALID} if the region code is invalid.
+     */
+    private static int combine(final int head, final int regionCode, final int plateLength) {
+        if (regionCode == VehicleRegionCodeValidator.INVALID_CODE) {
+            return INVALID;
+        }
+        final int slot = plateLength == MIN_LENGTH
+                ? regionCode * REGION_PREFIX_SLOTS
+                : regionCode / DIGIT_RADIX * REGION_PREFIX_SLOTS + regionCode % DIGIT_RADIX + 1;
+        return head * REGION_RADIX + slot;
+    }
+
+    /**
+     * Checks that a key is in range {@code [0, BOUND)}.
+     *
+     * @param key the key to check.
+     * @throws IllegalArgumentException if {@code key} is out of range.
+     */
+    private static void checkKey(final int key) {
+        if (key < 0 || BOUND <= key) {
+            throw new IllegalArgumentException("Invalid plate key: " + key);
+        }
+    }
+}
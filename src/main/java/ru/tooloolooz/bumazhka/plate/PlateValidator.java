@@ -22,6 +22,19 @@ public sealed interface PlateValidator permits TypeAnyPlateValidator, Type1Plate
      */
     boolean isValid(String plate);
 
+    /**
+     * Validates a vehicle registration plate stored in a character array.
+     * <p>
+     * This is the array variant of {@link #isValid(String)}, it does not allocate.
+     *
+     * @param chars  the array containing the plate.
+     * @param offset the index of the first plate character.
+     * @param length the number of plate characters.
+     * @return {@code true} if the plate is valid, {@code false} otherwise.
+     * @throws IndexOutOfBoundsException if the range is out of the array bounds.
+     */
+    boolean isValid(char[] chars, int offset, int length);
+
     /**
      * Returns the vehicle plate type which this validator is designed to validate.
      * <p>
@@ -0,0 +1,35 @@
+package ru.tooloolooz.bumazhka.plate;
+
+/**
+ * Reason of a failed vehicle registration plate validation.
+ * <p>
+ * Reasons are checked in the order of declaration, the first failed check is reported.
+ *
+ * @see Type1PlateValidator#rejectionReason(CharSequence)
+ */
+public enum RejectionReason {
+    /**
+     * The plate is valid.
+     */
+    NONE,
+
+    /**
+     * The plate has an unsupported length.
+     */
+    LENGTH,
+
+    /**
+     * A series position holds a character other than an allowed Cyrillic letter.
+     */
+    SERIES,
+
+    /**
+     * A registration number position holds a character other than a digit.
+     */
+    NUMBER,
+
+    /**
+     * The region code is invalid.
+     */
+    REGION
+}
@@ -3,6 +3,8 @@ package ru.tooloolooz.bumazhka.plate;
 import ru.tooloolooz.bumazhka.VehiclePlateValidator;
 import ru.tooloolooz.bumazhka.VehicleRegionCodeValidator;
 
+import java.util.Objects;
+
 /**
  * Implementation of a validator for Type 1 vehicle registration plates.
  * <p>
@@ -17,6 +19,7 @@ import ru.tooloolooz.bumazhka.VehicleRegionCodeValidator;
  * </ul>
  *
  * @see PlateValidator
+ * @see PlateCharacters
  * @see VehiclePlateValidator.PlateType#TYPE_1
  * @see <a href="https://docs.cntd.ru/document/1200160380">GOST R 50577-2018 State Registration Plates for Vehicles</a>
  */
@@ -92,17 +95,68 @@ public final class Type1PlateValidator implements PlateValidator {
      */
     @Override
     public boolean isValid(final String plate) {
+        return regionCode(plate) != VehicleRegionCodeValidator.INVALID_CODE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isValid(final char[] chars, final int offset, final int length) {
+        return regionCode(chars, offset, length) != VehicleRegionCodeValidator.INVALID_CODE;
+    }
+
+    /**
+     * Validates a plate and extracts its region code in a single pass.
+     * <p>
+     * The region code is parsed in place by {@link VehicleRegionCodeValidator#parse(CharSequence, int, int)},
+     * so no substring is created.
+     *
+     * @param plate the registration plate to validate.
+     * @return the numeric region code of the plate,
+     * or {@link VehicleRegionCodeValidator#INVALID_CODE} if the plate is invalid.
+     */
+    public int regionCode(final CharSequence plate) {
+        final int plateLength = plate.length();
+        if (plateLength < MIN_PLATE_SIZE || MAX_PLATE_SIZE < plateLength) {
+            return VehicleRegionCodeValidator.INVALID_CODE;
+        }
+        final boolean valid = PlateCharacters.isAllowedLetter(plate.charAt(POSITION_1))
+                              && PlateCharacters.isDigit(plate.charAt(POSITION_2))
+                              && PlateCharacters.isDigit(plate.charAt(POSITION_3))
+                              && PlateCharacters.isDigit(plate.charAt(POSITION_4))
+                              && PlateCharacters.isAllowedLetter(plate.charAt(POSITION_5))
+                              && PlateCharacters.isAllowedLetter(plate.charAt(POSITION_6));
+        return valid
+               ? VehicleRegionCodeValidator.parse(plate, POSITION_7, plateLength)
+               : VehicleRegionCodeValidator.INVALID_CODE;
+    }
+
+    /**
+     * Explains why a plate is invalid.
+     * <p>
+     * This method is meant for diagnostics of rejected plates, use {@link #isValid(String)} for validation.
+     *
+     * @param plate the registration plate to check.
+     * @return the first failed check, or {@link RejectionReason#NONE} if the plate is valid.
+     */
+    public RejectionReason rejectionReason(final CharSequence plate) {
         final int plateLength = plate.length();
         if (plateLength < MIN_PLATE_SIZE || MAX_PLATE_SIZE < plateLength) {
-            return false;
+            return RejectionReason.LENGTH;
+        }
+        if (!PlateCharacters.isAllowedLetter(plate.charAt(POSITION_1))
+            || !PlateCharacters.isAllowedLetter(plate.charAt(POSITION_5))
+            || !PlateCharacters.isAllowedLetter(plate.charAt(POSITION_6))) {
+            return RejectionReason.SERIES;
         }
-        return isAllowedLetter(plate.charAt(POSITION_1))
-               && isDigit(plate.charAt(POSITION_2))
-               && isDigit(plate.charAt(POSITION_3))
-               && isDigit(plate.charAt(POSITION_4))
-               && isAllowedLetter(plate.charAt(POSITION_5))
-               && isAllowedLetter(plate.charAt(POSITION_6))
-               && VehicleRegionCodeValidator.isValid(plate.substring(POSITION_7, plateLength));
+        for (int position = POSITION_2; position <= POSITION_4; position++) {
+            if (!PlateCharacters.isDigit(plate.charAt(position))) {
+                return RejectionReason.NUMBER;
+            }
+        }
+        final int regionCode = VehicleRegionCodeValidator.parse(plate, POSITION_7, plateLength);
+        return regionCode == VehicleRegionCodeValidator.INVALID_CODE ? RejectionReason.REGION : RejectionReason.NONE;
     }
 
     /**
@@ -114,31 +168,31 @@ public final class Type1PlateValidator implements PlateValidator {
     }
 
     /**
-     * Checks if a character is an allowed Cyrillic letter for vehicle plate series.
+     * Validates a plate stored in a character array and extracts its region code in a single pass.
      * <p>
-     * Russian vehicle registration plates permit only 12 specific Cyrillic letters in the series positions.
-     * <b>Allowed Letters (12 total):</b> 'А', 'В', 'Е', 'К', 'М', 'Н', 'О', 'Р', 'С', 'Т', 'У', 'Х'
+     * This is the array variant of {@link #regionCode(CharSequence)}.
      *
-     * @param character the character to check for allowance in plate series
-     * @return {@code true} if the character is one of the 12 allowed Cyrillic letters,
-     * {@code false} otherwise (including Latin letters, other Cyrillic letters,
-     * digits, symbols, etc.)
-     */
-    @SuppressWarnings("PMD.CyclomaticComplexity")
-    private static boolean isAllowedLetter(final char character) {
-        return switch (character) {
-            case 'А', 'В', 'Е', 'К', 'М', 'Н', 'О', 'Р', 'С', 'Т', 'У', 'Х' -> true;
-            default -> false;
-        };
-    }
-
-    /**
-     * Checks if a character is a decimal digit (0-9).
-     *
-     * @param character the character to check for digit status
-     * @return {@code true} if the character is a basic digit (0-9), {@code false} otherwise
+     * @param chars  the array containing the plate.
+     * @param offset the index of the first plate character.
+     * @param length the number of plate characters.
+     * @return the numeric region code of the plate,
+     * or {@link VehicleRegionCodeValidator#INVALID_CODE} if the plate is invalid.
+     * @throws IndexOutOfBoundsException if the range is out of the array bounds.
      */
-    private static boolean isDigit(final char character) {
-        return '0' <= character && character <= '9';
+    private int regionCode(final char[] chars, final int offset, final int length) {
+        Objects.checkFromIndexSize(offset, length, chars.length);
+
+        if (length < MIN_PLATE_SIZE || MAX_PLATE_SIZE < length) {
+            return VehicleRegionCodeValidator.INVALID_CODE;
+        }
+        final boolean valid = PlateCharacters.isAllowedLetter(chars[offset + POSITION_1])
+                              && PlateCharacters.isDigit(chars[offset + POSITION_2])
+                              && PlateCharacters.isDigit(chars[offset + POSITION_3])
+                              && PlateCharacters.isDigit(chars[offset + POSITION_4])
+                              && PlateCharacters.isAllowedLetter(chars[offset + POSITION_5])
+                              && PlateCharacters.isAllowedLetter(chars[offset + POSITION_6]);
+        return valid
+               ? VehicleRegionCodeValidator.parse(chars, offset + POSITION_7, offset + length)
+               : VehicleRegionCodeValidator.INVALID_CODE;
     }
 }
@@ -42,6 +42,14 @@ public final class TypeAnyPlateValidator implements PlateValidator {
         return Type1PlateValidator.INSTANCE.isValid(plate);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isValid(final char[] chars, final int offset, final int length) {
+        return Type1PlateValidator.INSTANCE.isValid(chars, offset, length);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,404 @@
+package ru.tooloolooz.bumazhka.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import ru.tooloolooz.bumazhka.Assert;
+import ru.tooloolooz.bumazhka.VehiclePlateValidator;
+import ru.tooloolooz.bumazhka.VehicleRegionCodeValidator;
+import ru.tooloolooz.bumazhka.jfr.ValidationBatch;
+import ru.tooloolooz.bumazhka.jfr.ValidationBatches;
+import ru.tooloolooz.bumazhka.plate.RejectionReason;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embeddable HTTP server validating vehicle registration plates and region codes.
+ * <p>
+ * The server is built on the JDK {@code com.sun.net.httpserver} package and is meant to run as a local
+ * sidecar for services that cannot call {@link VehiclePlateValidator} and {@link VehicleRegionCodeValidator}
+ * directly. All endpoints accept {@code POST} requests:
+ * <ul>
+ *   <li>{@code /v1/plate}, {@code /v1/region} - validate a single value, respond {@code true} or {@code false}</li>
+ *   <li>{@code /v1/plates}, {@code /v1/regions} - validate a batch of values</li>
+ * </ul>
+ * Batch bodies are either newline-delimited UTF-8 text or, with {@code Content-Type: application/octet-stream},
+ * binary frames of an unsigned length byte followed by that many UTF-8 bytes. Results are streamed back in
+ * request order as {@code 1}/{@code 0} lines for text bodies and as {@code 1}/{@code 0} bytes for binary
+ * bodies. Values are decoded into reusable buffers, so a batch of any size is validated without creating
+ * objects per value.
+ * <p>
+ * Plates are validated by {@link VehiclePlateValidator#isValid(char[], int, int)} as
+ * {@link VehiclePlateValidator.PlateType#ANY} plates, so rejected plates are reported like those of any other
+ * validation call. Every plate batch is reported through {@link ValidationBatches}, rejections are classified
+ * only while the batch is recorded.
+ * <p>
+ * Requests are handled by virtual threads when the runtime supports them, by a cached thread pool otherwise.
+ *
+ * @see VehiclePlateValidator
+ * @see VehicleRegionCodeValidator
+ */
+@SuppressWarnings("PMD.DoNotUseThreads")
+public final class PlateValidationServer implements AutoCloseable {
+    /**
+     * Content type of binary framed bodies.
+     */
+    private static final String BINARY_CONTENT_TYPE = "application/octet-stream";
+
+    /**
+     * Content type of text bodies.
+     */
+    private static final String TEXT_CONTENT_TYPE = "text/plain; charset=utf-8";
+
+    /**
+     * The only accepted request method.
+     */
+    private static final String METHOD = "POST";
+
+    /**
+     * Size of the response buffer.
+     */
+    private static final int RESPONSE_BUFFER_SIZE = 8192;
+
+    /**
+     * Validator of plates.
+     */
+    private static final ValueValidator PLATE_VALIDATOR = VehiclePlateValidator::isValid;
+
+    /**
+     * Validator of region codes.
+     */
+    private static final ValueValidator REGION_VALIDATOR = (chars, offset, length) ->
+            VehicleRegionCodeValidator.parse(chars, offset, offset + length) != VehicleRegionCodeValidator.INVALID_CODE;
+
+    /**
+     * The underlying HTTP server.
+     */
+    private final HttpServer server;
+
+    /**
+     * Executor of request handlers.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Creates a started server.
+     *
+     * @param httpServer the bound HTTP server.
+     * @param handlers   the executor of request handlers.
+     */
+    private PlateValidationServer(final HttpServer httpServer, final ExecutorService handlers) {
+        this.server = httpServer;
+        this.executor = handlers;
+        server.createContext("/v1/plate", new Handler(PLATE_VALIDATOR, true, false));
+        server.createContext("/v1/plates", new Handler(PLATE_VALIDATOR, false, true));
+        server.createContext("/v1/region", new Handler(REGION_VALIDATOR, true, false));
+        server.createContext("/v1/regions", new Handler(REGION_VALIDATOR, false, false));
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Binds and starts a server.
+     *
+     * @param address the address to bind, port {@code 0} picks a free port.
+     * @return the started server.
+     * @throws IllegalArgumentException if {@code address} is {@code null}.
+     * @throws IOException              if the address cannot be bound.
+     */
+    public static PlateValidationServer start(final InetSocketAddress address) throws IOException {
+        Assert.notNull(address, "Address must be not null");
+
+        return new PlateValidationServer(HttpServer.create(address, 0), newExecutor());
+    }
+
+    /**
+     * Returns the bound address of the server.
+     *
+     * @return the bound address.
+     */
+    public InetSocketAddress address() {
+        return server.getAddress();
+    }
+
+    /**
+     * Stops the server, closing all open connections immediately.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    /**
+     * Creates the executor of request handlers.
+     * <p>
+     * The library targets Java 17, so the virtual thread executor of newer runtimes is looked up reflectively.
+     * Java 19 and 20 declare the factory, but throw {@link UnsupportedOperationException} from it unless
+     * preview features are enabled, such runtimes fall back to the thread pool as well.
+     *
+     * @return a virtual thread per task executor if available, a cached thread pool otherwise.
+     */
+    private static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * Validator of a decoded value.
+     */
+    /* default */ @FunctionalInterface
+    interface ValueValidator {
+        /**
+         * Validates a value stored in a character array.
+         *
+         * @param chars  the array containing the value.
+         * @param offset the index of the first character.
+         * @param length the number of characters.
+         * @return {@code true} if the value is valid.
+         */
+        boolean isValid(char[] chars, int offset, int length);
+    }
+
+    /**
+     * Handler of single and batch validation endpoints.
+     */
+    @SuppressWarnings("PMD.LawOfDemeter")
+    private static final class Handler implements HttpHandler {
+        /**
+         * Response body of a valid single value.
+         */
+        private static final byte[] TRUE = "true".getBytes(StandardCharsets.UTF_8);
+
+        /**
+         * Response body of an invalid single value.
+         */
+        private static final byte[] FALSE = "false".getBytes(StandardCharsets.UTF_8);
+
+        /**
+         * Validator of values.
+         */
+        private final ValueValidator validator;
+
+        /**
+         * Whether the endpoint validates a single value.
+         */
+        private final boolean single;
+
+        /**
+         * Whether the endpoint reports batches through {@link ValidationBatches}.
+         */
+        private final boolean traced;
+
+        /**
+         * Creates a handler.
+         *
+         * @param valueValidator the validator of values.
+         * @param singleValue    whether the endpoint validates a single value.
+         * @param batchTraced    whether the endpoint reports batches through {@link ValidationBatches}.
+         */
+        private Handler(final ValueValidator valueValidator, final boolean singleValue, final boolean batchTraced) {
+            this.validator = valueValidator;
+            this.single = singleValue;
+            this.traced = batchTraced;
+        }
+
+        /**
+         * Handles a validation request.
+         *
+         * @param exchange the exchange.
+         * @throws IOException if the request cannot be read or the response cannot be written.
+         */
+        @Override
+        @SuppressWarnings("PMD.UseTryWithResources")
+        public void handle(final HttpExchange exchange) throws IOException {
+            try {
+                if (METHOD.equals(exchange.getRequestMethod())) {
+                    if (single) {
+                        handleSingle(exchange);
+                    } else {
+                        handleBatch(exchange);
+                    }
+                } else {
+                    exchange.getResponseHeaders().set("Allow", METHOD);
+                    exchange.sendResponseHeaders(HttpURLConnection.HTTP_BAD_METHOD, -1);
+                }
+            } finally {
+                exchange.close();
+            }
+        }
+
+        /**
+         * Responds with the result of a single value request.
+         *
+         * @param exchange the exchange.
+         * @throws IOException if the request cannot be read or the response cannot be written.
+         */
+        private void handleSingle(final HttpExchange exchange) throws IOException {
+            final ValueReader reader = new ValueReader(exchange.getRequestBody());
+            final byte[] body = reader.readLine() && reader.isValid(validator) ? TRUE : FALSE;
+            exchange.getResponseHeaders().set("Content-Type", TEXT_CONTENT_TYPE);
+            exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, body.length);
+            exchange.getResponseBody().write(body);
+        }
+
+        /**
+         * Streams the results of a batch request.
+         * <p>
+         * The response is committed before the body is read, so a malformed body cannot change the status.
+         * Instead, the response body is aborted and the server drops the connection, and the client sees
+         * an incomplete chunked response.
+         *
+         * @param exchange the exchange.
+         * @throws IOException if the request cannot be read or the response cannot be written.
+         */
+        private void handleBatch(final HttpExchange exchange) throws IOException {
+            final boolean binary = BINARY_CONTENT_TYPE.equals(exchange.getRequestHeaders().getFirst("Content-Type"));
+            exchange.getResponseHeaders().set("Content-Type", binary ? BINARY_CONTENT_TYPE : TEXT_CONTENT_TYPE);
+            exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, 0);
+            validateBatch(new ValueReader(exchange.getRequestBody()), binary, ResponseBody.install(exchange, binary));
+        }
+
+        /**
+         * Validates every value of a batch request body.
+         *
+         * @param reader  the reader of the request body.
+         * @param binary  whether the body consists of binary frames.
+         * @param results the response body receiving the results, aborted if the batch fails.
+         * @throws IOException if the request cannot be read or the response cannot be written.
+         */
+        private void validateBatch(final ValueReader reader, final boolean binary, final ResponseBody results)
+                throws IOException {
+            try {
+                validateValues(reader, binary, results);
+            } catch (final IOException e) {
+                results.abort();
+                throw e;
+            }
+        }
+
+        /**
+         * Validates and reports every value of a batch request body.
+         *
+         * @param reader  the reader of the request body.
+         * @param binary  whether the body consists of binary frames.
+         * @param results the response body receiving the results.
+         * @throws IOException if the request cannot be read or the response cannot be written.
+         */
+        private void validateValues(final ValueReader reader, final boolean binary, final ResponseBody results)
+                throws IOException {
+            final ValidationBatch batch = beginBatch();
+            final boolean recorded = batch.isRecorded();
+            final long[] rejected = new long[RejectionReason.values().length];
+            long size = 0;
+            while (binary ? reader.readFrame() : reader.readLine()) {
+                final boolean valid = reader.isValid(validator);
+                results.write(valid);
+                if (recorded && !valid) {
+                    rejected[reader.rejectionReason().ordinal()]++;
+                }
+                size++;
+            }
+            batch.finish(size, rejected);
+        }
+
+        /**
+         * Begins the batch of a request, only traced endpoints begin a batch that may be recorded.
+         *
+         * @return the started batch, {@link ValidationBatches#UNRECORDED} if the endpoint is not traced.
+         */
+        private ValidationBatch beginBatch() {
+            return traced
+                   ? ValidationBatches.begin("PlateValidationServer", VehiclePlateValidator.PlateType.ANY)
+                   : ValidationBatches.UNRECORDED;
+        }
+    }
+
+    /**
+     * Buffered body of a batch response.
+     * <p>
+     * An aborted body fails to close, so the server drops the connection instead of finishing the chunked
+     * response, and a partial response cannot be mistaken for a complete one.
+     */
+    private static final class ResponseBody extends BufferedOutputStream {
+        /**
+         * Whether results are written as bytes rather than lines.
+         */
+        private final boolean binary;
+
+        /**
+         * Whether the response must not be finished.
+         */
+        private boolean aborted;
+
+        /**
+         * Creates a response body.
+         *
+         * @param body         the original response body.
+         * @param binaryResult whether results are written as bytes rather than lines.
+         */
+        private ResponseBody(final OutputStream body, final boolean binaryResult) {
+            super(body, RESPONSE_BUFFER_SIZE);
+            this.binary = binaryResult;
+        }
+
+        /**
+         * Replaces the response body of an exchange with a new buffered body.
+         *
+         * @param exchange     the exchange with sent response headers.
+         * @param binaryResult whether results are written as bytes rather than lines.
+         * @return the new response body, closed by {@link HttpExchange#close()}.
+         */
+        private static ResponseBody install(final HttpExchange exchange, final boolean binaryResult) {
+            final ResponseBody body = new ResponseBody(exchange.getResponseBody(), binaryResult);
+            exchange.setStreams(null, body);
+            return body;
+        }
+
+        /**
+         * Writes the result of a value.
+         *
+         * @param valid whether the value is valid.
+         * @throws IOException if the response cannot be written.
+         */
+        private void write(final boolean valid) throws IOException {
+            if (binary) {
+                write(valid ? 1 : 0);
+            } else {
+                write(valid ? '1' : '0');
+                write('\n');
+            }
+        }
+
+        /**
+         * Marks the response as unfinished.
+         */
+        private void abort() {
+            aborted = true;
+        }
+
+        /**
+         * Flushes and finishes the response, unless it is aborted.
+         *
+         * @throws IOException if the response cannot be written, or is aborted.
+         */
+        @Override
+        public void close() throws IOException {
+            if (aborted) {
+                throw new IOException("Response aborted after " + count + " buffered bytes");
+            }
+            super.close();
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package ru.tooloolooz.bumazhka.server;
+
+import ru.tooloolooz.bumazhka.plate.RejectionReason;
+import ru.tooloolooz.bumazhka.plate.Type1PlateValidator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.CharBuffer;
+
+/**
+ * Streaming reader of values of a batch request body.
+ * <p>
+ * Supports newline-delimited UTF-8 text and binary frames of an unsigned length byte followed by
+ * that many UTF-8 bytes. Values are decoded into a reusable character array, so reading does not
+ * allocate per value. Characters outside of the two-byte UTF-8 range and overlong encodings are decoded as
+ * {@code U+FFFD}, since they can never be part of a valid plate or region code.
+ */
+final class ValueReader {
+    /**
+     * Maximum number of decoded characters of a value, longer values are reported as truncated.
+     */
+    /* default */ static final int MAX_CHARS = 16;
+
+    /**
+     * Maximum number of bytes of a value, equal to the maximum binary frame length.
+     */
+    private static final int MAX_BYTES = 255;
+
+    /**
+     * Size of the input buffer.
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Mask of the payload bits of a byte.
+     */
+    private static final int BYTE_MASK = 0xFF;
+
+    /**
+     * Upper bound of single-byte UTF-8 sequences.
+     */
+    private static final int ASCII_BOUND = 0x80;
+
+    /**
+     * Smallest lead byte of a two-byte sequence, {@code 0xC0} and {@code 0xC1} would only start overlong
+     * encodings of single-byte characters.
+     */
+    private static final int MIN_LEAD = 0xC2;
+
+    /**
+     * Largest lead byte of a two-byte sequence.
+     */
+    private static final int MAX_LEAD = 0xDF;
+
+    /**
+     * Mask of the payload bits of a two-byte sequence lead byte.
+     */
+    private static final int LEAD_PAYLOAD_MASK = 0x1F;
+
+    /**
+     * Mask of the marker bits of a continuation byte.
+     */
+    private static final int CONTINUATION_MARKER_MASK = 0xC0;
+
+    /**
+     * Marker bits of a continuation byte.
+     */
+    private static final int CONTINUATION_MARKER = 0x80;
+
+    /**
+     * Mask of the payload bits of a continuation byte.
+     */
+    private static final int CONTINUATION_PAYLOAD_MASK = 0x3F;
+
+    /**
+     * Number of payload bits of a continuation byte.
+     */
+    private static final int CONTINUATION_BITS = 6;
+
+    /**
+     * The request body.
+     */
+    private final InputStream input;
+
+    /**
+     * Input buffer.
+     */
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    /**
+     * Raw bytes of the current value.
+     */
+    private final byte[] bytes = new byte[MAX_BYTES];
+
+    /**
+     * Decoded characters of the current value.
+     */
+    private final char[] chars = new char[MAX_CHARS];
+
+    /**
+     * Position of the next unread byte of the input buffer.
+     */
+    private int position;
+
+    /**
+     * Number of bytes in the input buffer.
+     */
+    private int limit;
+
+    /**
+     * Number of decoded characters of the current value.
+     */
+    private int length;
+
+    /**
+     * Whether the current value did not fit into the character array.
+     */
+    private boolean truncated;
+
+    /**
+     * Creates a reader.
+     *
+     * @param body the request body.
+     */
+    /* default */ ValueReader(final InputStream body) {
+        this.input = body;
+    }
+
+    /**
+     * Reads the next newline-delimited value. A trailing carriage return is dropped.
+     *
+     * @return {@code true} if a value was read, {@code false} at the end of the body.
+     * @throws IOException if the body cannot be read.
+     */
+    /* default */ boolean readLine() throws IOException {
+        int next = read();
+        if (next == -1) {
+            return false;
+        }
+        int count = 0;
+        boolean overflow = false;
+        while (next != -1 && next != '\n') {
+            if (count < MAX_BYTES) {
+                bytes[count] = (byte) next;
+                count++;
+            } else {
+                overflow = true;
+            }
+            next = read();
+        }
+        if (count > 0 && bytes[count - 1] == '\r') {
+            count--;
+        }
+        decode(count, overflow);
+        return true;
+    }
+
+    /**
+     * Reads the next length-prefixed binary frame.
+     *
+     * @return {@code true} if a value was read, {@code false} at the end of the body.
+     * @throws IOException if the body cannot be read or ends inside a frame.
+     */
+    /* default */ boolean readFrame() throws IOException {
+        final int count = read();
+        if (count == -1) {
+            return false;
+        }
+        for (int i = 0; i < count; i++) {
+            final int next = read();
+            if (next == -1) {
+                throw new IOException("Truncated frame, read " + i + " of " + count + " bytes");
+            }
+            bytes[i] = (byte) next;
+        }
+        decode(count, false);
+        return true;
+    }
+
+    /**
+     * Validates the current value.
+     *
+     * @param validator the validator to apply.
+     * @return {@code true} if the value is not truncated and is valid.
+     */
+    /* default */ boolean isValid(final PlateValidationServer.ValueValidator validator) {
+        return !truncated && validator.isValid(chars, 0, length);
+    }
+
+    /**
+     * Explains why the current plate is invalid.
+     *
+     * @return the first failed check of the current value as a Type 1 plate.
+     */
+    /* default */ RejectionReason rejectionReason() {
+        return truncated
+               ? RejectionReason.LENGTH
+               : Type1PlateValidator.INSTANCE.rejectionReason(CharBuffer.wrap(chars, 0, length));
+    }
+
+    /**
+     * Reads the next byte of the body.
+     *
+     * @return the byte, or {@code -1} at the end of the body.
+     * @throws IOException if the body cannot be read.
+     */
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = input.read(buffer, 0, BUFFER_SIZE);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        final int next = buffer[position] & BYTE_MASK;
+        position++;
+        return next;
+    }
+
+    /**
+     * Decodes the raw bytes of the current value.
+     *
+     * @param count    the number of raw bytes.
+     * @param overflow whether some bytes of the value were dropped.
+     */
+    private void decode(final int count, final boolean overflow) {
+        length = 0;
+        int index = 0;
+        while (index < count && length < MAX_CHARS) {
+            final int lead = bytes[index] & BYTE_MASK;
+            if (lead < ASCII_BOUND) {
+                chars[length] = (char) lead;
+                index++;
+            } else if (MIN_LEAD <= lead && lead <= MAX_LEAD && index + 1 < count
+                       && (bytes[index + 1] & CONTINUATION_MARKER_MASK) == CONTINUATION_MARKER) {
+                chars[length] = (char) ((lead & LEAD_PAYLOAD_MASK) << CONTINUATION_BITS
+                                        | bytes[index + 1] & CONTINUATION_PAYLOAD_MASK);
+                index += 2;
+            } else {
+                chars[length] = '\uFFFD';
+                index++;
+            }
+            length++;
+        }
+        truncated = overflow || index < count;
+    }
+}
@@ -0,0 +1,7 @@
+/**
+ * Embeddable HTTP server exposing plate and region code validation to non-JVM services.
+ */
+@NullMarked
+package ru.tooloolooz.bumazhka.server;
+
+import org.jspecify.annotations.NullMarked;
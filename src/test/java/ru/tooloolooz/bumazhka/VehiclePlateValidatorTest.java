@@ -7,6 +7,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 
 import java.util.stream.Stream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -73,6 +74,38 @@ class VehiclePlateValidatorTest {
                 .hasMessage("Invalid vehicle state registration plate: " + code);
     }
 
+    @ParameterizedTest
+    @MethodSource("validPlates")
+    void isValidTestForValidArray(String code) {
+        char[] chars = ("##" + code + "#").toCharArray();
+
+        assertThat(VehiclePlateValidator.isValid(chars, 2, code.length())).isTrue();
+        assertThat(VehiclePlateValidator.isValid(chars, 2, code.length(), VehiclePlateValidator.PlateType.TYPE_1))
+                .isTrue();
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidPlates")
+    void isValidTestForInvalidArray(String code) {
+        char[] chars = ("##" + code + "#").toCharArray();
+
+        assertThat(VehiclePlateValidator.isValid(chars, 2, code.length())).isFalse();
+        assertThat(VehiclePlateValidator.isValid(chars, 2, code.length(), VehiclePlateValidator.PlateType.TYPE_1))
+                .isFalse();
+    }
+
+    @Test
+    void isValidTestForArrayOutOfBounds() {
+        assertThatThrownBy(() -> VehiclePlateValidator.isValid("А019АА61".toCharArray(), 1, 8))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> VehiclePlateValidator.isValid((char[]) null, 0, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Plate must be not null");
+        assertThatThrownBy(() -> VehiclePlateValidator.isValid(new char[0], 0, 0, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Type must be not null");
+    }
+
     @Test
     void validateTestForNullCode() {
         assertThatThrownBy(() -> VehiclePlateValidator.validate(null))
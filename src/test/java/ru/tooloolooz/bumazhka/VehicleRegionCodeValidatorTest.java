@@ -119,4 +119,43 @@ class VehicleRegionCodeValidatorTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Length must be not null");
     }
+
+    @ParameterizedTest
+    @MethodSource("regionCodesWithoutLength")
+    void parseTest(String code, boolean result) {
+        String plate = "А019АА" + code;
+        int parsed = VehicleRegionCodeValidator.parse(plate, 6, plate.length());
+        if (result) {
+            assertThat(parsed).isEqualTo(Integer.parseInt(code));
+        } else {
+            assertThat(parsed).isEqualTo(VehicleRegionCodeValidator.INVALID_CODE);
+        }
+    }
+
+    @Test
+    void parseTestWithNullCode() {
+        assertThatThrownBy(() -> VehicleRegionCodeValidator.parse((CharSequence) null, 0, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Code must be not null");
+        assertThatThrownBy(() -> VehicleRegionCodeValidator.parse((char[]) null, 0, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Code must be not null");
+    }
+
+    @Test
+    void parseTestWithInvalidRange() {
+        assertThatThrownBy(() -> VehicleRegionCodeValidator.parse("161", 1, 4))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void isValidTestWithAllTwoDigitCodes() {
+        for (int code = 0; code < 100; code++) {
+            String twoDigit = String.format("%02d", code);
+            boolean expected = code != 0 && code != 20 && code != 91;
+
+            assertThat(VehicleRegionCodeValidator.isValid(twoDigit)).as(twoDigit).isEqualTo(expected);
+            assertThat(VehicleRegionCodeValidator.isValid("7" + twoDigit)).as("7" + twoDigit).isEqualTo(expected);
+        }
+    }
 }
@@ -0,0 +1,54 @@
+package ru.tooloolooz.bumazhka.bulk;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedLinesTest {
+    private static final String LONG_LINE = "А".repeat(100);
+
+    @Test
+    void splitTestWithAnyChunkSize(@TempDir Path dir) throws IOException {
+        Path file = Files.writeString(dir.resolve("plates.txt"),
+                "А019АА61\r\nВ123ВВ161\n\n" + LONG_LINE + "\nЕ001ЕЕ161\rК777КК77", StandardCharsets.UTF_8);
+
+        for (int chunkSize = 1; chunkSize <= 300; chunkSize++) {
+            List<String> lines = new ArrayList<>();
+            for (MappedLines chunk : MappedLines.split(file, chunkSize)) {
+                chunk.forEachLine(line -> lines.add(line.toString()));
+            }
+
+            assertThat(lines).hasSize(5);
+            assertThat(lines.get(0)).isEqualTo("А019АА61");
+            assertThat(lines.get(1)).isEqualTo("В123ВВ161");
+            assertThat(lines.get(2)).isEmpty();
+            assertThat(lines.get(3)).isEqualTo("А".repeat(32));
+            assertThat(lines.get(4)).isEqualTo("Е001ЕЕ161\rК777КК77");
+        }
+    }
+
+    @Test
+    void splitTestWithEmptyFile(@TempDir Path dir) throws IOException {
+        Path file = Files.createFile(dir.resolve("plates.txt"));
+
+        assertThat(MappedLines.split(file, 16)).isEmpty();
+    }
+
+    @Test
+    void forEachLineTestWithMalformedLine(@TempDir Path dir) throws IOException {
+        Path file = Files.write(dir.resolve("plates.txt"), new byte[]{'1', (byte) 0xFF, '2', '\n'});
+
+        List<String> lines = new ArrayList<>();
+        MappedLines.split(file, 16).get(0).forEachLine(line -> lines.add(line.toString()));
+
+        assertThat(lines).containsExactly("1�2");
+    }
+}
@@ -0,0 +1,165 @@
+package ru.tooloolooz.bumazhka.bulk;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PlateIndexTest {
+    private static final List<String> PLATES = PlateKeySorterTest.randomPlates(20_000, 7);
+
+    private static final TreeSet<String> VALID = new TreeSet<>(PLATES.stream()
+            .filter(plate -> !plate.endsWith("00"))
+            .toList());
+
+    private static final PlateIndex INDEX = PlateIndex.of(PLATES.stream());
+
+    @TempDir
+    private Path dir;
+
+    private static List<String> toList(Iterator<String> iterator) {
+        List<String> plates = new ArrayList<>();
+        iterator.forEachRemaining(plates::add);
+        return plates;
+    }
+
+    private static List<String> scan(String pattern, int fromRegion, int toRegion) {
+        Pattern regex = Pattern.compile(pattern.replace('?', '.'));
+        return VALID.stream()
+                .filter(plate -> regex.matcher(plate.substring(0, 6)).matches())
+                .filter(plate -> {
+                    int regionCode = Integer.parseInt(plate.substring(6));
+                    return fromRegion <= regionCode && regionCode <= toRegion;
+                })
+                .toList();
+    }
+
+    @Test
+    void ofTest() {
+        PlateIndex index = PlateIndex.of("В123ВВ161", "А019АА61", "А019АА00", "А019АА61");
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(toList(index.prefix(""))).containsExactly("А019АА61", "В123ВВ161");
+        assertThat(index.contains("А019АА61")).isTrue();
+        assertThat(index.contains("А019АА161")).isFalse();
+        assertThat(index.contains("А019АА00")).isFalse();
+        assertThat(index.contains("Х999ХХ999")).isFalse();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "??????, 1, 999",
+        "А???АА, 161, 161",
+        "?019??, 1, 999",
+        "В0?9?В, 61, 161",
+        "??????, 100, 199",
+        "Х?????, 1, 999",
+        "?00??В, 1, 1",
+    })
+    void matchTest(String pattern, int fromRegion, int toRegion) {
+        assertThat(toList(INDEX.match(pattern, fromRegion, toRegion))).isEqualTo(scan(pattern, fromRegion, toRegion));
+    }
+
+    @Test
+    void matchAnyRegionTest() {
+        assertThat(toList(INDEX.match("?019??"))).isEqualTo(scan("?019??", 1, 999));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "", "А", "А01", "А019АА", "А019АА1", "А019АА16", "А019АА161", "A", "А019АА1610", "А019ААХ",
+    })
+    void prefixTest(String prefix) {
+        assertThat(toList(INDEX.prefix(prefix)))
+                .isEqualTo(VALID.stream().filter(plate -> plate.startsWith(prefix)).toList());
+    }
+
+    @Test
+    void mapTest() throws IOException {
+        Path plates = Files.write(dir.resolve("plates.txt"), PLATES, StandardCharsets.UTF_8);
+        Path keys = dir.resolve("plates.keys");
+        new PlateKeySorter(dir, 1000).sort(plates, keys);
+
+        PlateIndex index = PlateIndex.map(keys);
+
+        assertThat(index.size()).isEqualTo(PLATES.size() - PLATES.stream().filter(p -> p.endsWith("00")).count());
+        assertThat(toList(index.prefix(""))).containsExactlyElementsOf(VALID);
+        assertThat(toList(index.match("?01???", 61, 61))).isEqualTo(scan("?01???", 61, 61));
+        assertThat(index.contains(VALID.last())).isTrue();
+    }
+
+    @Test
+    void mapTestWithInvalidFile() throws IOException {
+        Path truncated = Files.write(dir.resolve("truncated.keys"), new byte[] {0, 0, 1});
+        Path unsorted = Files.write(dir.resolve("unsorted.keys"), new byte[] {0, 0, 0, 2, 0, 0, 0, 1});
+        Path outOfRange = Files.write(dir.resolve("range.keys"), new byte[] {0, 0, 0, 1, 0x7F, 0, 0, 0});
+
+        assertThatThrownBy(() -> PlateIndex.map(truncated))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Truncated key file, size 3: " + truncated);
+        assertThatThrownBy(() -> PlateIndex.map(unsorted))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Not a sorted key file: " + unsorted);
+        assertThatThrownBy(() -> PlateIndex.map(outOfRange))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Not a sorted key file: " + outOfRange);
+    }
+
+    @Test
+    void iteratorTest() {
+        Iterator<String> iterator = INDEX.match("А000АА", 1, 1);
+
+        assertThat(iterator.hasNext()).isFalse();
+        assertThatThrownBy(iterator::next).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "?????", "???????", "0?????", "?А????", "??????1", "A?????"})
+    void matchTestWithInvalidPattern(String pattern) {
+        assertThatThrownBy(() -> INDEX.match(pattern))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid plate pattern: " + pattern);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0, 1", "2, 1", "1, 1000"})
+    void matchTestWithInvalidRegionRange(int fromRegion, int toRegion) {
+        assertThatThrownBy(() -> INDEX.match("??????", fromRegion, toRegion))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid region range: " + fromRegion + ".." + toRegion);
+    }
+
+    @Test
+    void testWithNull() {
+        assertThatThrownBy(() -> PlateIndex.of((CharSequence[]) null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Plates must be not null");
+        assertThatThrownBy(() -> PlateIndex.map(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("File must be not null");
+        assertThatThrownBy(() -> INDEX.prefix(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Prefix must be not null");
+        assertThatThrownBy(() -> INDEX.match(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Pattern must be not null");
+        assertThatThrownBy(() -> INDEX.contains(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Plate must be not null");
+    }
+}
@@ -0,0 +1,107 @@
+package ru.tooloolooz.bumazhka.bulk;
+
+import org.junit.jupiter.api.Test;
+import ru.tooloolooz.bumazhka.NotValidException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PlateInternerTest {
+
+    @Test
+    void internTestReturnsCanonicalInstance() {
+        PlateInterner interner = new PlateInterner(16);
+        String first = new String("А019АА161".toCharArray());
+        String second = new String("А019АА161".toCharArray());
+
+        assertThat(interner.intern(first)).isSameAs(first);
+        assertThat(interner.intern(second)).isSameAs(first);
+    }
+
+    @Test
+    void internTestForCharArray() {
+        PlateInterner interner = new PlateInterner(16);
+        char[] chars = "xА019АА161x".toCharArray();
+
+        String interned = interner.intern(chars, 1, 9);
+
+        assertThat(interned).isEqualTo("А019АА161");
+        assertThat(interner.intern(chars, 1, 9)).isSameAs(interned);
+        assertThat(interner.intern("А019АА161")).isSameAs(interned);
+    }
+
+    @Test
+    void internTestWithFullTable() {
+        PlateInterner interner = new PlateInterner(1);
+        List<String> plates = new ArrayList<>();
+        for (int number = 0; number < 100; number++) {
+            plates.add(String.format("А%03dАА161", number));
+        }
+
+        for (String plate : plates) {
+            assertThat(interner.intern(plate)).isEqualTo(plate);
+            assertThat(interner.intern(plate.toCharArray(), 0, plate.length())).isEqualTo(plate);
+        }
+        assertThat(interner.capacity()).isEqualTo(8);
+    }
+
+    @Test
+    void internTestWithPrefixPlates() {
+        PlateInterner interner = new PlateInterner(1);
+        char[] chars = "А019АА161".toCharArray();
+
+        String shorter = interner.intern(chars, 0, 8);
+        String longer = interner.intern(chars, 0, 9);
+
+        assertThat(shorter).isEqualTo("А019АА16");
+        assertThat(longer).isEqualTo("А019АА161");
+        assertThat(interner.intern("А019АА16")).isSameAs(shorter);
+        assertThat(interner.intern(chars, 0, 9)).isSameAs(longer);
+    }
+
+    @Test
+    void internTestConcurrently() throws Exception {
+        PlateInterner interner = new PlateInterner(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                futures.add(executor.submit(() -> interner.intern(new String("В123ВВ77".toCharArray()))));
+            }
+            String canonical = futures.get(0).get();
+            for (Future<String> future : futures) {
+                assertThat(future.get()).isSameAs(canonical);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void internTestWithInvalidPlate() {
+        PlateInterner interner = new PlateInterner(16);
+
+        assertThatThrownBy(() -> interner.intern("А019АА00"))
+                .isInstanceOf(NotValidException.class)
+                .hasMessage("Invalid vehicle state registration plate: А019АА00");
+        assertThatThrownBy(() -> interner.intern("А019АА00".toCharArray(), 0, 8))
+                .isInstanceOf(NotValidException.class)
+                .hasMessage("Invalid vehicle state registration plate: А019АА00");
+    }
+
+    @Test
+    void constructorTestWithInvalidCapacity() {
+        assertThatThrownBy(() -> new PlateInterner(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Capacity must be in range 1..1073741824: 0");
+        assertThatThrownBy(() -> new PlateInterner(1073741825))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Capacity must be in range 1..1073741824: 1073741825");
+    }
+}
@@ -0,0 +1,147 @@
+package ru.tooloolooz.bumazhka.bulk;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.tooloolooz.bumazhka.plate.PlateKey;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PlateKeySorterTest {
+    private static final String LETTERS = "АВЕКМНОРСТУХ";
+    private static final String[] REGIONS = {"01", "61", "161", "761", "77", "777", "00"};
+
+    @TempDir
+    private Path dir;
+
+    static List<String> randomPlates(int count, long seed) {
+        Random random = new Random(seed);
+        List<String> plates = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            plates.add(LETTERS.charAt(random.nextInt(LETTERS.length()))
+                       + String.format("%03d", random.nextInt(100))
+                       + LETTERS.charAt(random.nextInt(2))
+                       + LETTERS.charAt(random.nextInt(2))
+                       + REGIONS[random.nextInt(REGIONS.length)]);
+        }
+        return plates;
+    }
+
+    static List<String> readKeys(Path file) throws IOException {
+        List<String> plates = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            while (in.available() > 0) {
+                plates.add(PlateKey.decode(in.readInt()));
+            }
+        }
+        return plates;
+    }
+
+    @Test
+    void sortTestWithSeveralRuns() throws IOException {
+        List<String> plates = randomPlates(10_000, 1);
+        Path input = Files.write(dir.resolve("plates.txt"), plates, StandardCharsets.UTF_8);
+        Path output = dir.resolve("plates.keys");
+
+        long count = new PlateKeySorter(dir, 1000).sort(input, output);
+
+        List<String> expected = plates.stream()
+                .filter(plate -> PlateKey.encode(plate) != PlateKey.INVALID)
+                .sorted()
+                .toList();
+        assertThat(count).isEqualTo(expected.size());
+        assertThat(readKeys(output)).isEqualTo(expected);
+        try (var files = Files.list(dir)) {
+            assertThat(files).containsExactlyInAnyOrder(input, output);
+        }
+    }
+
+    @Test
+    void sortTestWithSingleRun() throws IOException {
+        Path input = Files.write(dir.resolve("plates.txt"), List.of("В123ВВ161", "А019АА61", "invalid"),
+                StandardCharsets.UTF_8);
+        Path output = dir.resolve("plates.keys");
+
+        long count = new PlateKeySorter(dir, 1000).sort(input, output);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(readKeys(output)).containsExactly("А019АА61", "В123ВВ161");
+    }
+
+    @Test
+    void sortTestWithSeveralMergePasses() throws IOException {
+        List<String> plates = randomPlates(20_000, 2);
+        Path input = Files.write(dir.resolve("plates.txt"), plates, StandardCharsets.UTF_8);
+        Path output = dir.resolve("plates.keys");
+
+        long count = new PlateKeySorter(dir, 50).sort(input, output);
+
+        List<String> expected = plates.stream()
+                .filter(plate -> PlateKey.encode(plate) != PlateKey.INVALID)
+                .sorted()
+                .toList();
+        assertThat(count).isEqualTo(expected.size());
+        assertThat(readKeys(output)).isEqualTo(expected);
+        try (var files = Files.list(dir)) {
+            assertThat(files).containsExactlyInAnyOrder(input, output);
+        }
+    }
+
+    @Test
+    void sortTestWithUnwritableTarget() throws IOException {
+        Path input = Files.write(dir.resolve("plates.txt"), randomPlates(1000, 3), StandardCharsets.UTF_8);
+        Path output = dir.resolve("missing").resolve("plates.keys");
+
+        assertThatThrownBy(() -> new PlateKeySorter(dir, 100).sort(input, output))
+                .isInstanceOf(IOException.class);
+        try (var files = Files.list(dir)) {
+            assertThat(files).containsExactly(input);
+        }
+    }
+
+    @Test
+    void sortTestWithMissingTempDir() throws IOException {
+        Path input = Files.write(dir.resolve("plates.txt"), randomPlates(1000, 4), StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> new PlateKeySorter(dir.resolve("missing"), 10).sort(input, dir.resolve("keys")))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void sortTestWithCrLf() throws IOException {
+        Path input = Files.writeString(dir.resolve("plates.txt"), "В123ВВ161\r\nА019АА61\r\n\r\nК777КК77",
+                StandardCharsets.UTF_8);
+        Path output = dir.resolve("plates.keys");
+
+        assertThat(new PlateKeySorter(dir, 2).sort(input, output)).isEqualTo(3);
+        assertThat(readKeys(output)).containsExactly("А019АА61", "В123ВВ161", "К777КК77");
+    }
+
+    @Test
+    void sortTestWithEmptyFile() throws IOException {
+        Path input = Files.createFile(dir.resolve("plates.txt"));
+        Path output = dir.resolve("plates.keys");
+
+        assertThat(new PlateKeySorter(dir, 1).sort(input, output)).isZero();
+        assertThat(output).isEmptyFile();
+    }
+
+    @Test
+    void constructorTestWithInvalidArguments() {
+        assertThatThrownBy(() -> new PlateKeySorter(null, 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Temp dir must be not null");
+        assertThatThrownBy(() -> new PlateKeySorter(dir, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Run size must be in range 1..536870911: 0");
+    }
+}
@@ -0,0 +1,56 @@
+package ru.tooloolooz.bumazhka.bulk;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.tooloolooz.bumazhka.plate.PlateKey;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PlateMergeJoinTest {
+    @TempDir
+    private Path dir;
+
+    private Path sorted(String name, List<String> plates) throws IOException {
+        Path input = Files.write(dir.resolve(name + ".txt"), plates, StandardCharsets.UTF_8);
+        Path output = dir.resolve(name + ".keys");
+        new PlateKeySorter(dir, 2).sort(input, output);
+        return output;
+    }
+
+    @Test
+    void joinTest() throws IOException {
+        Path left = sorted("left", List.of("В123ВВ161", "А019АА61", "А019АА61", "Х999ХХ999"));
+        Path right = sorted("right", List.of("А019АА61", "К777КК77", "В123ВВ161"));
+        List<String> rows = new ArrayList<>();
+
+        PlateMergeJoin.join(left, right,
+                (key, leftCount, rightCount) -> rows.add(PlateKey.decode(key) + ":" + leftCount + ":" + rightCount));
+
+        assertThat(rows).containsExactly("А019АА61:2:1", "В123ВВ161:1:1", "К777КК77:0:1", "Х999ХХ999:1:0");
+    }
+
+    @Test
+    void joinTestWithTruncatedFile() throws IOException {
+        Path left = Files.write(dir.resolve("left.keys"), new byte[]{0, 0, 0, 1, 0, 0});
+        Path right = sorted("right", List.of("А019АА61"));
+
+        assertThatThrownBy(() -> PlateMergeJoin.join(left, right, (key, leftCount, rightCount) -> { }))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Truncated key file, trailing bytes: 2");
+    }
+
+    @Test
+    void joinTestWithNullListener() {
+        assertThatThrownBy(() -> PlateMergeJoin.join(dir, dir, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Listener must be not null");
+    }
+}
@@ -0,0 +1,141 @@
+package ru.tooloolooz.bumazhka.bulk;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.tooloolooz.bumazhka.plate.RejectionReason;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RegionHistogramTest {
+    private static final List<String> PLATES = List.of(
+            "А019АА61", "В123ВВ161", "Е001ЕЕ161", "К777КК77", "А019АА00", "а019АА61", "А019АА1"
+    );
+
+    @Test
+    void ofArrayTest() {
+        RegionHistogram histogram = RegionHistogram.of(PLATES.toArray(new String[0]));
+
+        assertThat(histogram.count(61)).isEqualTo(1);
+        assertThat(histogram.count(161)).isEqualTo(2);
+        assertThat(histogram.count(77)).isEqualTo(1);
+        assertThat(histogram.count(0)).isZero();
+        assertThat(histogram.subjectCount(61)).isEqualTo(3);
+        assertThat(histogram.total()).isEqualTo(4);
+        assertThat(histogram.rejected()).isEqualTo(3);
+    }
+
+    @Test
+    void rejectedByReasonTest() {
+        RegionHistogram histogram = RegionHistogram.of("А019АА61", "А019АА00", "а019АА61", "А019АА1", "А0Х9АА61");
+
+        assertThat(histogram.rejected(RejectionReason.LENGTH)).isEqualTo(1);
+        assertThat(histogram.rejected(RejectionReason.SERIES)).isEqualTo(1);
+        assertThat(histogram.rejected(RejectionReason.NUMBER)).isEqualTo(1);
+        assertThat(histogram.rejected(RejectionReason.REGION)).isEqualTo(1);
+        assertThat(histogram.rejected(RejectionReason.NONE)).isZero();
+        assertThat(histogram.rejected()).isEqualTo(4);
+    }
+
+    @Test
+    void mergeTest() {
+        RegionHistogram histogram = new RegionHistogram();
+        histogram.add("А019АА61");
+        histogram.add("А019АА00");
+        RegionHistogram other = new RegionHistogram();
+        other.add("А019АА00");
+        other.add("А019АА1");
+
+        histogram.merge(other);
+
+        assertThat(histogram.count(61)).isEqualTo(1);
+        assertThat(histogram.rejected(RejectionReason.REGION)).isEqualTo(2);
+        assertThat(histogram.rejected(RejectionReason.LENGTH)).isEqualTo(1);
+        assertThat(histogram.rejected()).isEqualTo(3);
+    }
+
+    @Test
+    void ofStreamTest() {
+        RegionHistogram histogram = RegionHistogram.of(Stream.generate(() -> "В123ВВ161").limit(10_000).parallel());
+
+        assertThat(histogram.count(161)).isEqualTo(10_000);
+        assertThat(histogram.total()).isEqualTo(10_000);
+        assertThat(histogram.rejected()).isZero();
+    }
+
+    @Test
+    void ofFileTest(@TempDir Path dir) throws IOException {
+        Path file = Files.write(dir.resolve("plates.txt"), PLATES, StandardCharsets.UTF_8);
+
+        RegionHistogram histogram = RegionHistogram.of(file);
+
+        assertThat(histogram.toArray()).isEqualTo(RegionHistogram.of(PLATES.stream()).toArray());
+        assertThat(histogram.rejected()).isEqualTo(3);
+    }
+
+    @Test
+    void ofFileTestAbove2GiB(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("plates.txt");
+        long padding = (1L << 31) + 4096;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap("А019АА61\n".getBytes(StandardCharsets.UTF_8)));
+            channel.write(ByteBuffer.wrap("\nВ123ВВ161\nК777КК77".getBytes(StandardCharsets.UTF_8)), padding);
+        }
+
+        RegionHistogram histogram = RegionHistogram.of(file);
+
+        assertThat(histogram.count(61)).isEqualTo(1);
+        assertThat(histogram.count(161)).isEqualTo(1);
+        assertThat(histogram.count(77)).isEqualTo(1);
+        assertThat(histogram.rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void toArrayReturnsCopyTest() {
+        RegionHistogram histogram = new RegionHistogram();
+        histogram.add("А019АА61");
+
+        histogram.toArray()[61] = 0;
+
+        assertThat(histogram.count(61)).isEqualTo(1);
+    }
+
+    @Test
+    void countTestWithInvalidIndex() {
+        RegionHistogram histogram = new RegionHistogram();
+
+        assertThatThrownBy(() -> histogram.count(1000))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> histogram.subjectCount(100))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void ofTestWithNull() {
+        assertThatThrownBy(() -> RegionHistogram.of((CharSequence[]) null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Plates must be not null");
+        assertThatThrownBy(() -> RegionHistogram.of((Stream<String>) null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Plates must be not null");
+        assertThatThrownBy(() -> RegionHistogram.of((Path) null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("File must be not null");
+        assertThatThrownBy(() -> new RegionHistogram().add(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Plate must be not null");
+        assertThatThrownBy(() -> new RegionHistogram().rejected(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Reason must be not null");
+    }
+}
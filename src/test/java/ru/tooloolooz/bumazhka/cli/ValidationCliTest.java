@@ -0,0 +1,50 @@
+package ru.tooloolooz.bumazhka.cli;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ValidationCliTest {
+    private final StringWriter out = new StringWriter();
+
+    private final StringWriter err = new StringWriter();
+
+    private int run(String input, String... args) throws IOException {
+        return ValidationCli.run(args, new BufferedReader(new StringReader(input)),
+                new PrintWriter(out, true), new PrintWriter(err, true));
+    }
+
+    @Test
+    void argumentsTest() throws IOException {
+        assertThat(run("", "А019АА161", "В123ВВ77")).isEqualTo(ValidationCli.EXIT_VALID);
+        assertThat(out.toString().lines()).containsExactly("true", "true");
+        assertThat(err.toString()).isEmpty();
+    }
+
+    @Test
+    void inputTest() throws IOException {
+        assertThat(run("А019АА161\nA019AA161\n\nК777КК777\n")).isEqualTo(ValidationCli.EXIT_INVALID);
+        assertThat(out.toString().lines()).containsExactly("true", "false", "false", "true");
+    }
+
+    @Test
+    void timingTest() throws IOException {
+        assertThat(run("", ValidationCli.TIMING_OPTION, "А019АА00", "А019АА161"))
+                .isEqualTo(ValidationCli.EXIT_INVALID);
+        assertThat(out.toString().lines()).containsExactly("false", "true");
+        assertThat(err.toString().lines()).singleElement().asString().matches("first-call-ns \\d+");
+    }
+
+    @Test
+    void timingTestWithInput() throws IOException {
+        assertThat(run("А019АА161\nВ123ВВ77\n", ValidationCli.TIMING_OPTION)).isEqualTo(ValidationCli.EXIT_VALID);
+        assertThat(out.toString().lines()).containsExactly("true", "true");
+        assertThat(err.toString().lines()).singleElement().asString().startsWith("first-call-ns ");
+    }
+}
@@ -0,0 +1,96 @@
+package ru.tooloolooz.bumazhka.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PlateRedactingReaderTest {
+
+    private static String readAll(Reader reader, int chunk) throws IOException {
+        StringBuilder result = new StringBuilder();
+        char[] buffer = new char[chunk];
+        for (int count = reader.read(buffer, 0, chunk); count != -1; count = reader.read(buffer, 0, chunk)) {
+            result.append(buffer, 0, count);
+        }
+        return result.toString();
+    }
+
+    @ParameterizedTest
+    @MethodSource("ru.tooloolooz.bumazhka.io.PlateRedactingWriterTest#texts")
+    void readTest(String text, String expected) throws IOException {
+        for (int chunk = 1; chunk <= 11; chunk++) {
+            try (Reader reader = new PlateRedactingReader(new StringReader(text))) {
+                assertThat(readAll(reader, chunk)).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void readTestWithSingleCharacters() throws IOException {
+        Reader reader = new PlateRedactingReader(new StringReader("А019АА161 x"));
+        StringBuilder result = new StringBuilder();
+
+        assertThat(reader.ready()).isFalse();
+        for (int next = reader.read(); next != -1; next = reader.read()) {
+            result.append((char) next);
+        }
+
+        assertThat(result).hasToString("А***АА161 x");
+        assertThat(reader.read(new char[1], 0, 0)).isZero();
+        assertThat(reader.read(new char[1], 0, 1)).isEqualTo(-1);
+    }
+
+    @Test
+    void readTestWithLongText() throws IOException {
+        String line = "plate А019АА161 seen\n";
+        Reader reader = new PlateRedactingReader(new StringReader(line.repeat(1000)));
+
+        assertThat(readAll(reader, 4096)).isEqualTo("plate А***АА161 seen\n".repeat(1000));
+    }
+
+    @Test
+    void readyTest() throws IOException {
+        Reader reader = new PlateRedactingReader(new StringReader("seen А019АА161 x"));
+
+        assertThat(reader.read()).isEqualTo('s');
+        assertThat(reader.ready()).isTrue();
+        assertThat(readAll(reader, 32)).isEqualTo("een А***АА161 x");
+        assertThat(reader.ready()).isFalse();
+    }
+
+    @Test
+    void skipTest() throws IOException {
+        Reader reader = new PlateRedactingReader(new StringReader("id: А019АА161"));
+
+        assertThat(reader.skip(4)).isEqualTo(4);
+        assertThat(readAll(reader, 16)).isEqualTo("А***АА161");
+        assertThat(reader.skip(1)).isZero();
+    }
+
+    @Test
+    void markTest() {
+        Reader reader = new PlateRedactingReader(new StringReader(""));
+
+        assertThat(reader.markSupported()).isFalse();
+        assertThatThrownBy(() -> reader.mark(1))
+                .isInstanceOf(IOException.class)
+                .hasMessage("mark() not supported");
+        assertThatThrownBy(reader::reset)
+                .isInstanceOf(IOException.class)
+                .hasMessage("reset() not supported");
+    }
+
+    @Test
+    void constructorTestWithNull() {
+        assertThatThrownBy(() -> new PlateRedactingReader(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Reader must be not null");
+    }
+}
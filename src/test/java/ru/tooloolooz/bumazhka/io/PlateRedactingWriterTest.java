@@ -0,0 +1,113 @@
+package ru.tooloolooz.bumazhka.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PlateRedactingWriterTest {
+
+    /**
+     * Test data provider for redaction tests.
+     *
+     * @return Stream of Arguments where:
+     * - First argument (String): source text
+     * - Second argument (String): expected redacted text
+     */
+    static Stream<Arguments> texts() {
+        return Stream.of(
+                Arguments.of("А019АА161", "А***АА161"),
+                Arguments.of("car А019АА161 seen", "car А***АА161 seen"),
+                Arguments.of("А019АА16 and В123ВВ77.", "А***АА16 and В***ВВ77."),
+                Arguments.of("(К777КК777)\nМ001ММ01", "(К***КК777)\nМ***ММ01"),
+                Arguments.of("А019АА00 has invalid region", "А019АА00 has invalid region"),
+                Arguments.of("XА019АА161", "XА019АА161"),
+                Arguments.of("А019АА1612", "А019АА1612"),
+                Arguments.of("А019АА161А019АА161", "А019АА161А019АА161"),
+                Arguments.of("А019АА1", "А019АА1"),
+                Arguments.of("А0", "А0"),
+                Arguments.of("", "")
+        );
+    }
+
+    private static String redact(String text, int chunk) throws IOException {
+        StringWriter result = new StringWriter();
+        try (PlateRedactingWriter writer = new PlateRedactingWriter(result)) {
+            for (int i = 0; i < text.length(); i += chunk) {
+                writer.write(text, i, Math.min(chunk, text.length() - i));
+            }
+        }
+        return result.toString();
+    }
+
+    @ParameterizedTest
+    @MethodSource("texts")
+    void writeTest(String text, String expected) throws IOException {
+        for (int chunk = 1; chunk <= 11; chunk++) {
+            assertThat(redact(text, chunk)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void writeTestWithCharsAndLongText() throws IOException {
+        String line = "plate А019АА161 seen\n";
+        StringWriter result = new StringWriter();
+
+        try (PlateRedactingWriter writer = new PlateRedactingWriter(result)) {
+            for (int i = 0; i < 1000; i++) {
+                writer.write(line.toCharArray());
+                writer.write('!');
+            }
+        }
+
+        assertThat(result.toString()).isEqualTo("plate А***АА161 seen\n!".repeat(1000));
+    }
+
+    @Test
+    void flushTestHoldsPossiblePlate() throws IOException {
+        StringWriter result = new StringWriter();
+        PlateRedactingWriter writer = new PlateRedactingWriter(result);
+
+        writer.write("id А019");
+        writer.flush();
+        assertThat(result.toString()).isEqualTo("id ");
+
+        writer.write("АА161");
+        writer.close();
+        writer.close();
+        assertThat(result.toString()).isEqualTo("id А***АА161");
+    }
+
+    @Test
+    void writeTestWhenClosed() throws IOException {
+        PlateRedactingWriter writer = new PlateRedactingWriter(new StringWriter());
+        writer.close();
+
+        assertThatThrownBy(() -> writer.write('x'))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Writer is closed");
+        assertThatThrownBy(() -> writer.write(new char[] {'x'}, 0, 1))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Writer is closed");
+        assertThatThrownBy(() -> writer.write("x", 0, 1))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Writer is closed");
+        assertThatThrownBy(writer::flush)
+                .isInstanceOf(IOException.class)
+                .hasMessage("Writer is closed");
+    }
+
+    @Test
+    void constructorTestWithNull() {
+        assertThatThrownBy(() -> new PlateRedactingWriter(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Writer must be not null");
+    }
+}
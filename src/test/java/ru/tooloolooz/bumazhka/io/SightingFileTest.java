@@ -0,0 +1,292 @@
+package ru.tooloolooz.bumazhka.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.tooloolooz.bumazhka.NotValidException;
+import ru.tooloolooz.bumazhka.VehicleRegionCodeValidator;
+import ru.tooloolooz.bumazhka.plate.PlateKey;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SightingFileTest {
+    @TempDir
+    private Path dir;
+
+    private static List<String> scanAll(SightingFileReader reader) throws IOException {
+        List<String> rows = new ArrayList<>();
+        reader.scan((key, timestamp, cameraId) -> rows.add(row(PlateKey.decode(key), timestamp, cameraId)));
+        return rows;
+    }
+
+    private static String row(String plate, long timestamp, int cameraId) {
+        return plate + "|" + timestamp + "|" + cameraId;
+    }
+
+    /**
+     * Returns all valid region codes, enough to overflow one-byte region dictionary indexes.
+     */
+    private static List<String> allRegions() {
+        List<String> regions = new ArrayList<>();
+        for (int code = 1; code < 1000; code++) {
+            String region = code < 10 ? "0" + code : Integer.toString(code);
+            if (VehicleRegionCodeValidator.isValid(region)) {
+                regions.add(region);
+            }
+        }
+        return regions;
+    }
+
+    @Test
+    void writeReadTest() throws IOException {
+        Path file = dir.resolve("sightings.bmz");
+        List<String> regions = allRegions();
+        List<String> expected = new ArrayList<>();
+        try (SightingFileWriter writer = new SightingFileWriter(file)) {
+            long timestamp = 1_700_000_000_000L;
+            for (int i = 0; i < 10_000; i++) {
+                String plate = String.format("А%03dВЕ", i % 1000) + regions.get(i % regions.size());
+                timestamp += i % 7 == 0 ? -5 : 1000;
+                int cameraId = i % 3 == 0 ? -i : i;
+                writer.write(plate, timestamp, cameraId);
+                expected.add(row(plate, timestamp, cameraId));
+            }
+        }
+
+        try (SightingFileReader reader = new SightingFileReader(file)) {
+            assertThat(reader.size()).isEqualTo(10_000);
+            assertThat(reader.blockCount()).isEqualTo(3);
+            assertThat(scanAll(reader)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void scanRegionTest() throws IOException {
+        Path file = dir.resolve("sightings.bmz");
+        try (SightingFileWriter writer = new SightingFileWriter(file)) {
+            for (int i = 0; i < 5000; i++) {
+                writer.write("А019АА61", i, 1);
+            }
+            for (int i = 0; i < 5000; i++) {
+                writer.write(i % 2 == 0 ? "В123ВВ161" : "К777КК77", i, 2);
+            }
+        }
+        List<Long> timestamps = new ArrayList<>();
+
+        try (SightingFileReader reader = new SightingFileReader(file)) {
+            reader.scanRegion(161, (key, timestamp, cameraId) -> {
+                assertThat(PlateKey.decode(key)).isEqualTo("В123ВВ161");
+                timestamps.add(timestamp);
+            });
+            reader.scanRegion(99, (key, timestamp, cameraId) -> timestamps.add(-1L));
+            reader.scanRegion(-1, (key, timestamp, cameraId) -> timestamps.add(-1L));
+            reader.scanRegion(1024, (key, timestamp, cameraId) -> timestamps.add(-1L));
+        }
+
+        assertThat(timestamps).hasSize(2500).startsWith(0L, 2L, 4L);
+    }
+
+    @Test
+    void scanRangeTest() throws IOException {
+        Path file = dir.resolve("sightings.bmz");
+        try (SightingFileWriter writer = new SightingFileWriter(file)) {
+            writer.write("А019АА61", 1, 1);
+            writer.write("В123ВВ161", 2, 2);
+            writer.write("К777КК77", 3, 3);
+        }
+        List<String> plates = new ArrayList<>();
+
+        try (SightingFileReader reader = new SightingFileReader(file)) {
+            reader.scanRange(PlateKey.encode("В000АА01"), PlateKey.encode("К777КК77"),
+                    (key, timestamp, cameraId) -> plates.add(PlateKey.decode(key)));
+            reader.scanRange(PlateKey.encode("М000АА01"), PlateKey.BOUND,
+                    (key, timestamp, cameraId) -> plates.add(PlateKey.decode(key)));
+            reader.scanRange(0, PlateKey.encode("А019АА61"),
+                    (key, timestamp, cameraId) -> plates.add(PlateKey.decode(key)));
+        }
+
+        assertThat(plates).containsExactly("В123ВВ161");
+    }
+
+    @Test
+    void writeReadTestWithManyBlocks() throws IOException {
+        Path file = dir.resolve("sightings.bmz");
+        try (SightingFileWriter writer = new SightingFileWriter(file)) {
+            for (int i = 0; i <= 17 * 4096; i++) {
+                writer.write("А019АА61", i, i % 5);
+            }
+        }
+
+        try (SightingFileReader reader = new SightingFileReader(file)) {
+            long[] last = new long[1];
+            reader.scan((key, timestamp, cameraId) -> last[0] = timestamp);
+
+            assertThat(reader.size()).isEqualTo(17 * 4096 + 1);
+            assertThat(reader.blockCount()).isEqualTo(18);
+            assertThat(last[0]).isEqualTo(17 * 4096);
+        }
+    }
+
+    @Test
+    void emptyFileTest() throws IOException {
+        Path file = dir.resolve("sightings.bmz");
+        new SightingFileWriter(file).close();
+
+        try (SightingFileReader reader = new SightingFileReader(file)) {
+            assertThat(reader.size()).isZero();
+            assertThat(reader.blockCount()).isZero();
+            assertThat(scanAll(reader)).isEmpty();
+        }
+    }
+
+    @Test
+    void writeTestWithInvalidPlate() throws IOException {
+        try (SightingFileWriter writer = new SightingFileWriter(dir.resolve("sightings.bmz"))) {
+            assertThatThrownBy(() -> writer.write("А019АА00", 1, 1))
+                    .isInstanceOf(NotValidException.class)
+                    .hasMessage("Invalid vehicle state registration plate: А019АА00");
+        }
+    }
+
+    @Test
+    void readTestWithInvalidFile() throws IOException {
+        Path file = Files.write(dir.resolve("sightings.csv"), "А019АА61,1,1\nВ123ВВ161,2,2\n".getBytes());
+
+        assertThatThrownBy(() -> new SightingFileReader(file))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Not a sighting file: " + file);
+    }
+
+    @Test
+    void closeTestWhenClosed() throws IOException {
+        Path file = dir.resolve("sightings.bmz");
+        SightingFileWriter writer = new SightingFileWriter(file);
+        writer.write("А019АА61", 1, 1);
+        writer.close();
+        long size = Files.size(file);
+
+        writer.close();
+
+        assertThat(file).hasSize(size);
+        try (SightingFileReader reader = new SightingFileReader(file)) {
+            assertThat(scanAll(reader)).containsExactly(row("А019АА61", 1, 1));
+        }
+    }
+
+    @Test
+    void writeTestWhenClosed() throws IOException {
+        Path file = dir.resolve("sightings.bmz");
+        SightingFileWriter writer = new SightingFileWriter(file);
+        writer.close();
+
+        assertThatThrownBy(() -> writer.write("А019АА61", 1, 1))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Writer is closed");
+    }
+
+    @Test
+    void readTestWithCorruptFile() throws IOException {
+        Path file = dir.resolve("sightings.bmz");
+        try (SightingFileWriter writer = new SightingFileWriter(file)) {
+            writer.write("А019АА61", 1, 1);
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        int footerOffset = (int) ByteBuffer.wrap(bytes, bytes.length - 16, 8).getLong();
+
+        Path tiny = Files.write(dir.resolve("tiny.bmz"), new byte[] {'B', 'M', 'Z', 'S'});
+        Path badMagic = corrupt(bytes, "magic.bmz", 0, 1);
+        Path badTrailerMagic = corrupt(bytes, "trailer.bmz", bytes.length - 1, 1);
+        Path badFooterOffset = corrupt(bytes, "offset.bmz", bytes.length - 9, 1);
+        Path badBlockCount = corrupt(bytes, "count.bmz", bytes.length - 5, 2);
+        Path hugeBlockCount = corrupt(bytes, "huge-count.bmz", bytes.length - 8, 1);
+        Path badVersion = corrupt(bytes, "version.bmz", 7, 8);
+        Path badBlockOffset = corrupt(bytes, "block-offset.bmz", footerOffset + 7, 8);
+        Path badBlockEnd = corrupt(bytes, "block-end.bmz", footerOffset + 6, 1);
+        Path badBlockLength = corrupt(bytes, "block-length.bmz", footerOffset + 8, 1);
+        Path emptyBlock = Files.write(dir.resolve("empty-block.bmz"),
+                ByteBuffer.wrap(bytes.clone()).putInt(footerOffset + 8, 0).array());
+
+        for (Path invalid : List.of(tiny, badMagic, badTrailerMagic, badFooterOffset, badBlockCount, hugeBlockCount)) {
+            assertThatThrownBy(() -> new SightingFileReader(invalid))
+                    .isInstanceOf(IOException.class)
+                    .hasMessage("Not a sighting file: " + invalid);
+        }
+        assertThatThrownBy(() -> new SightingFileReader(badVersion))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Unsupported sighting file version 9: " + badVersion);
+        assertThatThrownBy(() -> new SightingFileReader(badBlockOffset))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Corrupt sighting file block at 0: " + badBlockOffset);
+        assertThatThrownBy(() -> new SightingFileReader(badBlockEnd))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Corrupt sighting file block at 264: " + badBlockEnd);
+        for (Path invalid : List.of(badBlockLength, emptyBlock)) {
+            assertThatThrownBy(() -> new SightingFileReader(invalid))
+                    .isInstanceOf(IOException.class)
+                    .hasMessage("Corrupt sighting file block at 8: " + invalid);
+        }
+    }
+
+    @Test
+    void scanTestWithCorruptBlock() throws IOException {
+        Path file = dir.resolve("sightings.bmz");
+        try (SightingFileWriter writer = new SightingFileWriter(file)) {
+            writer.write("А019АА61", 1, 1);
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        List<Path> corrupted = List.of(
+                corrupt(bytes, "rows.bmz", 8, 2),
+                corrupt(bytes, "dictionary-size.bmz", 9, 1),
+                corrupt(bytes, "dictionary-slot.bmz", 11, 8),
+                corrupt(bytes, "index-width.bmz", 12, 4),
+                corrupt(bytes, "index.bmz", 13, 1),
+                corrupt(bytes, "head.bmz", 14, 0xFF),
+                corrupt(bytes, "truncated.bmz", 18, 0x80));
+        List<Integer> keys = new ArrayList<>();
+
+        for (Path invalid : corrupted) {
+            try (SightingFileReader reader = new SightingFileReader(invalid)) {
+                assertThatThrownBy(() -> reader.scan((key, timestamp, cameraId) -> keys.add(key)))
+                        .isInstanceOf(IOException.class)
+                        .hasMessage("Corrupt sighting file block 0 at 8: " + invalid);
+                assertThatThrownBy(() -> reader.scanRegion(61, (key, timestamp, cameraId) -> keys.add(key)))
+                        .isInstanceOf(IOException.class)
+                        .hasMessage("Corrupt sighting file block 0 at 8: " + invalid);
+            }
+        }
+
+        assertThat(keys).isEmpty();
+    }
+
+    @Test
+    void scanRegionTestWithCorruptRegionBitmap() throws IOException {
+        Path file = dir.resolve("sightings.bmz");
+        try (SightingFileWriter writer = new SightingFileWriter(file)) {
+            writer.write("А019АА61", 1, 1);
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        int footerOffset = (int) ByteBuffer.wrap(bytes, bytes.length - 16, 8).getLong();
+        Path corrupted = corrupt(bytes, "bitmap.bmz", footerOffset + 24 + 99 / 64 * 8 + 7 - 99 % 64 / 8, 1 << 99 % 8);
+        List<Integer> keys = new ArrayList<>();
+
+        try (SightingFileReader reader = new SightingFileReader(corrupted)) {
+            reader.scanRegion(99, (key, timestamp, cameraId) -> keys.add(key));
+            reader.scanRegion(61, (key, timestamp, cameraId) -> keys.add(key));
+        }
+
+        assertThat(keys).containsExactly(PlateKey.encode("А019АА61"));
+    }
+
+    private Path corrupt(byte[] bytes, String name, int index, int flippedBits) throws IOException {
+        byte[] corrupted = bytes.clone();
+        corrupted[index] ^= (byte) flippedBits;
+        return Files.write(dir.resolve(name), corrupted);
+    }
+}
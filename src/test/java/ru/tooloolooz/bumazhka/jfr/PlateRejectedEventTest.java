@@ -0,0 +1,79 @@
+package ru.tooloolooz.bumazhka.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.tooloolooz.bumazhka.VehiclePlateValidator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlateRejectedEventTest {
+    private static final String EVENT_NAME = "ru.tooloolooz.bumazhka.PlateRejected";
+
+    @Test
+    void rejectedPlateTest(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("rejected.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(EVENT_NAME);
+            recording.start();
+            for (int i = 0; i < 2 * PlateRejectedEvent.SAMPLE_PERIOD; i++) {
+                VehiclePlateValidator.isValid("А019АА61");
+                VehiclePlateValidator.isValid("А019АА00", VehiclePlateValidator.PlateType.TYPE_1);
+            }
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+        assertThat(events).hasSize(2).allSatisfy(event -> {
+            assertThat(event.getString("plateType")).isEqualTo("TYPE_1");
+            assertThat(event.getString("reason")).isEqualTo("REGION");
+            assertThat(event.getInt("length")).isEqualTo(8);
+            assertThat(event.getInt("sampled")).isEqualTo(PlateRejectedEvent.SAMPLE_PERIOD);
+        });
+    }
+
+    @Test
+    void rejectedArrayTest(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("array.jfr");
+        char[] chars = "#А019АА0#".toCharArray();
+        try (Recording recording = new Recording()) {
+            recording.enable(EVENT_NAME);
+            recording.start();
+            for (int i = 0; i < PlateRejectedEvent.SAMPLE_PERIOD; i++) {
+                VehiclePlateValidator.isValid(chars, 1, 7);
+            }
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.getString("plateType")).isEqualTo("ANY");
+            assertThat(event.getString("reason")).isEqualTo("LENGTH");
+            assertThat(event.getInt("length")).isEqualTo(7);
+        });
+    }
+
+    @Test
+    void disabledByDefaultTest(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("default.jfr");
+        try (Recording recording = new Recording()) {
+            recording.start();
+            VehiclePlateValidator.isValid("А019АА00");
+            recording.stop();
+            recording.dump(file);
+        }
+
+        assertThat(RecordingFile.readAllEvents(file))
+                .noneMatch(event -> EVENT_NAME.equals(event.getEventType().getName()));
+    }
+}
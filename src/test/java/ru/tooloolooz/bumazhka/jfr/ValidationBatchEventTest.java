@@ -0,0 +1,101 @@
+package ru.tooloolooz.bumazhka.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.tooloolooz.bumazhka.VehiclePlateValidator;
+import ru.tooloolooz.bumazhka.bulk.PlateKeySorter;
+import ru.tooloolooz.bumazhka.bulk.RegionHistogram;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ValidationBatchEventTest {
+    private static final String EVENT_NAME = "ru.tooloolooz.bumazhka.ValidationBatch";
+
+    @Test
+    void regionHistogramBatchTest(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("batch.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(EVENT_NAME);
+            recording.start();
+            RegionHistogram.of(Stream.of("А019АА61", "А019АА00", "а019АА61", "А019АА1", "А0Х9АА61"));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+        assertThat(events).hasSize(1);
+        RecordedEvent event = events.get(0);
+        assertThat(event.getString("source")).isEqualTo("RegionHistogram");
+        assertThat(event.getString("plateType")).isEqualTo("TYPE_1");
+        assertThat(event.getLong("batchSize")).isEqualTo(5);
+        assertThat(event.getLong("rejected")).isEqualTo(4);
+        assertThat(event.getLong("rejectedLength")).isEqualTo(1);
+        assertThat(event.getLong("rejectedSeries")).isEqualTo(1);
+        assertThat(event.getLong("rejectedNumber")).isEqualTo(1);
+        assertThat(event.getLong("rejectedRegion")).isEqualTo(1);
+    }
+
+    @Test
+    void plateKeySorterBatchTest(@TempDir Path dir) throws IOException {
+        Path plates = Files.write(dir.resolve("plates.txt"), List.of("В123ВВ161", "А019АА00", "А019АА61", "А019АА1"),
+                StandardCharsets.UTF_8);
+        Path file = dir.resolve("sort.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(EVENT_NAME);
+            recording.start();
+            new PlateKeySorter(dir, 16).sort(plates, dir.resolve("plates.keys"));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+        assertThat(events).hasSize(1);
+        RecordedEvent event = events.get(0);
+        assertThat(event.getString("source")).isEqualTo("PlateKeySorter");
+        assertThat(event.getLong("batchSize")).isEqualTo(4);
+        assertThat(event.getLong("rejected")).isEqualTo(2);
+        assertThat(event.getLong("rejectedLength")).isEqualTo(1);
+        assertThat(event.getLong("rejectedRegion")).isEqualTo(1);
+    }
+
+    @Test
+    void eventBegunBeforeRecordingTest(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("late.jfr");
+        ValidationBatchEvent event = ValidationBatchEvent.begin("Test", VehiclePlateValidator.PlateType.ANY);
+        try (Recording recording = new Recording()) {
+            recording.enable(EVENT_NAME);
+            recording.start();
+            event.finish(10, new long[5]);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        assertThat(RecordingFile.readAllEvents(file)).isEmpty();
+    }
+
+    @Test
+    void disabledEventTest(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("disabled.jfr");
+        try (Recording recording = new Recording()) {
+            recording.disable(EVENT_NAME);
+            recording.start();
+            ValidationBatchEvent.begin("Test", VehiclePlateValidator.PlateType.ANY).finish(1, new long[5]);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        assertThat(RecordingFile.readAllEvents(file)).isEmpty();
+    }
+}
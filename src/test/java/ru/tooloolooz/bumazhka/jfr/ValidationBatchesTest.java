@@ -0,0 +1,55 @@
+package ru.tooloolooz.bumazhka.jfr;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.tooloolooz.bumazhka.VehiclePlateValidator;
+import ru.tooloolooz.bumazhka.bulk.PlateKeySorter;
+import ru.tooloolooz.bumazhka.bulk.RegionHistogram;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ValidationBatchesTest {
+    @Test
+    void unrecordedTest() {
+        assertThat(ValidationBatches.UNRECORDED.isRecorded()).isFalse();
+    }
+
+    @Test
+    void withoutRecorderTest(@TempDir Path dir) throws IOException, InterruptedException {
+        Path output = dir.resolve("output.txt");
+        Process process = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "--limit-modules", "java.base",
+                "-cp", System.getProperty("java.class.path"),
+                WithoutRecorder.class.getName(), dir.toString())
+                .redirectErrorStream(true)
+                .redirectOutput(output.toFile())
+                .start();
+
+        assertThat(process.waitFor()).isZero();
+        assertThat(Files.readAllLines(output, StandardCharsets.UTF_8))
+                .containsExactly("recorder false", "histogram 1 1", "sorted 1", "valid false");
+    }
+
+    /**
+     * Runs the bulk APIs in a JVM started without the {@code jdk.jfr} module.
+     */
+    static final class WithoutRecorder {
+        public static void main(String[] args) throws IOException {
+            Path dir = Path.of(args[0]);
+            Path plates = Files.write(dir.resolve("plates.txt"), List.of("А019АА61", "А019АА00"),
+                    StandardCharsets.UTF_8);
+            RegionHistogram histogram = RegionHistogram.of("А019АА61", "А019АА00");
+            System.out.println("recorder " + ModuleLayer.boot().findModule("jdk.jfr").isPresent());
+            System.out.println("histogram " + histogram.count(61) + " " + histogram.rejected());
+            System.out.println("sorted " + new PlateKeySorter(dir, 16).sort(plates, dir.resolve("plates.keys")));
+            System.out.println("valid " + VehiclePlateValidator.isValid("А019АА00"));
+        }
+    }
+}
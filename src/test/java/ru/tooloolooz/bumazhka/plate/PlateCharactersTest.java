@@ -0,0 +1,39 @@
+package ru.tooloolooz.bumazhka.plate;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlateCharactersTest {
+
+    @Test
+    void isAllowedLetterTest() {
+        for (char character : "АВЕКМНОРСТУХ".toCharArray()) {
+            assertThat(PlateCharacters.isAllowedLetter(character)).isTrue();
+        }
+        for (char character : "БЯаA0 ".toCharArray()) {
+            assertThat(PlateCharacters.isAllowedLetter(character)).isFalse();
+        }
+    }
+
+    @Test
+    void letterIndexTest() {
+        String letters = "АВЕКМНОРСТУХ";
+        for (int index = 0; index < letters.length(); index++) {
+            assertThat(PlateCharacters.letterIndex(letters.charAt(index))).isEqualTo(index);
+        }
+        assertThat(PlateCharacters.letterIndex('Б')).isEqualTo(-1);
+        assertThat(PlateCharacters.letterIndex('A')).isEqualTo(-1);
+        assertThat(PlateCharacters.letterIndex((char) ('А' + Integer.SIZE))).isEqualTo(-1);
+    }
+
+    @Test
+    void isDigitTest() {
+        for (char character = '0'; character <= '9'; character++) {
+            assertThat(PlateCharacters.isDigit(character)).isTrue();
+        }
+        for (char character : "/:А٣".toCharArray()) {
+            assertThat(PlateCharacters.isDigit(character)).isFalse();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package ru.tooloolooz.bumazhka.plate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PlateKeyTest {
+    private static Stream<Arguments> validPlates() {
+        return Stream.of(
+                Arguments.of("А000АА01", 1),
+                Arguments.of("А019АА61", 61),
+                Arguments.of("А019АА161", 161),
+                Arguments.of("Х999ХХ999", 999)
+        );
+    }
+
+    private static Stream<Arguments> invalidPlates() {
+        return Stream.of(
+                Arguments.of("а019АА161"),
+                Arguments.of("0019АА161"),
+                Arguments.of("А/19АА161"),
+                Arguments.of("А0а9АА161"),
+                Arguments.of("А01/АА161"),
+                Arguments.of("А019ЯА161"),
+                Arguments.of("А019АЯ161"),
+                Arguments.of("А019АА061"),
+                Arguments.of("А019АА00"),
+                Arguments.of("А019АА1"),
+                Arguments.of("А019АА1611")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("validPlates")
+    void encodeDecodeTest(String plate, int regionCode) {
+        int key = PlateKey.encode(plate);
+
+        assertThat(key).isBetween(0, PlateKey.BOUND - 1);
+        assertThat(PlateKey.encode(("x" + plate).toCharArray(), 1, plate.length())).isEqualTo(key);
+        assertThat(PlateKey.decode(key)).isEqualTo(plate);
+        assertThat(PlateKey.regionCode(key)).isEqualTo(regionCode);
+        assertThat(PlateKey.number(key)).isEqualTo(Integer.parseInt(plate.substring(1, 4)));
+        assertThat(PlateKey.letter(key, 0)).isEqualTo(plate.charAt(0));
+        assertThat(PlateKey.letter(key, 1)).isEqualTo(plate.charAt(4));
+        assertThat(PlateKey.letter(key, 2)).isEqualTo(plate.charAt(5));
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidPlates")
+    void encodeTestForInvalidPlates(String plate) {
+        assertThat(PlateKey.encode(plate)).isEqualTo(PlateKey.INVALID);
+        assertThat(PlateKey.encode(plate.toCharArray(), 0, plate.length())).isEqualTo(PlateKey.INVALID);
+    }
+
+    @Test
+    void encodeTestPreservesStringOrder() {
+        List<String> plates = List.of("А019АА161", "А019АА16", "А019АА61", "А019АВ01", "В000АА01", "А100АА01");
+
+        for (String left : plates) {
+            for (String right : plates) {
+                assertThat(Integer.signum(Integer.compare(PlateKey.encode(left), PlateKey.encode(right))))
+                        .isEqualTo(Integer.signum(left.compareTo(right)));
+            }
+        }
+    }
+
+    @Test
+    void decodeTestWithInvalidKey() {
+        assertThatThrownBy(() -> PlateKey.decode(PlateKey.BOUND))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid plate key: " + PlateKey.BOUND);
+        assertThatThrownBy(() -> PlateKey.decode(-1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid plate key: -1");
+    }
+
+    @Test
+    void encodeTestWithNull() {
+        assertThatThrownBy(() -> PlateKey.encode((CharSequence) null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Plate must be not null");
+        assertThatThrownBy(() -> PlateKey.encode(null, 0, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Plate must be not null");
+    }
+}
@@ -0,0 +1,31 @@
+package ru.tooloolooz.bumazhka.plate;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Type1PlateValidatorTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "А019АА1, LENGTH",
+        "А019АА1611, LENGTH",
+        "а019АА161, SERIES",
+        "А019ЯА161, SERIES",
+        "А019АЯ161, SERIES",
+        "АХ19АА161, NUMBER",
+        "А0Х9АА161, NUMBER",
+        "А01ХАА161, NUMBER",
+        "А019АА00, REGION",
+        "А019АА061, REGION",
+        "А019АА61, NONE",
+        "А019АА161, NONE",
+    })
+    void rejectionReasonTest(String plate, RejectionReason reason) {
+        assertThat(Type1PlateValidator.INSTANCE.rejectionReason(plate)).isEqualTo(reason);
+        assertThat(Type1PlateValidator.INSTANCE.isValid(plate)).isEqualTo(reason == RejectionReason.NONE);
+        assertThat(Type1PlateValidator.INSTANCE.isValid((" " + plate).toCharArray(), 1, plate.length()))
+                .isEqualTo(reason == RejectionReason.NONE);
+    }
+}
@@ -0,0 +1,124 @@
+package ru.tooloolooz.bumazhka.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PlateValidationServerTest {
+    private final HttpClient client = HttpClient.newHttpClient();
+    private PlateValidationServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = PlateValidationServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + server.address().getPort() + path));
+    }
+
+    private String post(String path, String body) throws IOException, InterruptedException {
+        return client.send(request(path).POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                .build(), HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private static byte[] frames(String... values) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (String value : values) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.write(bytes.length);
+            out.writeBytes(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    void singlePlateTest() throws Exception {
+        assertThat(post("/v1/plate", "А019АА161")).isEqualTo("true");
+        assertThat(post("/v1/plate", "А019АА000")).isEqualTo("false");
+        assertThat(post("/v1/plate", "")).isEqualTo("false");
+    }
+
+    @Test
+    void singleRegionTest() throws Exception {
+        assertThat(post("/v1/region", "161\n")).isEqualTo("true");
+        assertThat(post("/v1/region", "061")).isEqualTo("false");
+    }
+
+    @Test
+    void textBatchTest() throws Exception {
+        String body = "А019АА161\r\nA019AA161\n\nВ123ВВ77\n" + "А019АА161".repeat(40) + "\n€€€\nК777КК777";
+
+        assertThat(post("/v1/plates", body)).isEqualTo("1\n0\n0\n1\n0\n0\n1\n");
+        assertThat(post("/v1/regions", "01\n00\n999\n")).isEqualTo("1\n0\n1\n");
+    }
+
+    @Test
+    void textBatchTestWithOverlongEncoding() throws Exception {
+        HttpRequest request = request("/v1/regions")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(new byte[]{
+                    '0', (byte) 0xC0, (byte) 0xB1, '\n', '0', (byte) 0xC1, (byte) 0xB1, '\n', '0', '1', '\n',
+                }))
+                .build();
+
+        assertThat(client.send(request, HttpResponse.BodyHandlers.ofString()).body()).isEqualTo("0\n0\n1\n");
+    }
+
+    @Test
+    void binaryBatchTest() throws Exception {
+        HttpRequest request = request("/v1/plates")
+                .header("Content-Type", "application/octet-stream")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(frames("А019АА161", "bad", "", "В123ВВ77")))
+                .build();
+
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(response.headers().firstValue("Content-Type")).hasValue("application/octet-stream");
+        assertThat(response.body()).containsExactly(1, 0, 0, 1);
+    }
+
+    @Test
+    void binaryBatchTestWithTruncatedFrame() {
+        HttpRequest request = request("/v1/regions")
+                .header("Content-Type", "application/octet-stream")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(new byte[]{3, '1'}))
+                .build();
+
+        assertThatThrownBy(() -> client.send(request, HttpResponse.BodyHandlers.ofByteArray()).body())
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void getTest() throws Exception {
+        HttpResponse<String> response = client.send(request("/v1/plate").GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(405);
+        assertThat(response.headers().firstValue("Allow")).hasValue("POST");
+    }
+
+    @Test
+    void startTestWithNullAddress() {
+        assertThatThrownBy(() -> PlateValidationServer.start(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Address must be not null");
+    }
+}